@@ -0,0 +1,126 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.board.Direction;
+
+/**
+ * Cross-checks and anchors of a board, kept up to date across turns.
+ *
+ * For every empty square and both directions the cache holds the letters that may
+ * be placed there as a 26-bit mask (bit 0 = 'A'). A move may create only one word,
+ * so the mask is empty when a tile touches the square across the line, and full
+ * otherwise. Anchors (empty, placeable squares next to a tile along the line) are
+ * kept as bitsets per row and column.
+ *
+ * {@link #sync} compares each row's occupancy with the copy taken at the last sync
+ * and refreshes only the changed squares and their neighbours, so keeping the cache
+ * current costs time proportional to the rows and the tiles that changed, whether
+ * they were placed by {@code MoveApplier.apply} or taken back by {@code undo}.
+ * Not thread-safe; the move generator only reads it while generating.
+ */
+public final class CrossCheckCache {
+
+    /** Mask with every letter allowed. */
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final Board board;
+    private final int cols;
+    private final int rows;
+    private final int[] rightMask;   // letters allowed for a word running RIGHT, per square
+    private final int[] downMask;    // letters allowed for a word running DOWN, per square
+    private final long[] rowAnchors; // bit col set if (row, col) is an anchor for RIGHT
+    private final long[] colAnchors; // two words per column, rows 0-63 and 64-127, for DOWN
+    private final long[] seen;       // row occupancy at the last sync
+
+    public CrossCheckCache(Board board) {
+        this.board = board;
+        this.cols = board.cols();
+        this.rows = board.rows();
+        this.rightMask = new int[rows * cols];
+        this.downMask = new int[rows * cols];
+        this.rowAnchors = new long[rows];
+        this.colAnchors = new long[2 * cols];
+        this.seen = new long[rows];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) refresh(r, c);
+            seen[r] = board.rowOccupancy(r);
+        }
+    }
+
+    public Board board() { return board; }
+
+    /** The cached instance if it belongs to this board, otherwise a new cache for it. */
+    static CrossCheckCache reuse(CrossCheckCache cached, Board board) {
+        return cached != null && cached.board == board ? cached : new CrossCheckCache(board);
+    }
+
+    /**
+     * Brings the cache up to date with its board.
+     *
+     * @return number of squares whose occupancy changed since the last sync
+     */
+    public int sync() {
+        int changedSquares = 0;
+        for (int r = 0; r < rows; r++) {
+            long now = board.rowOccupancy(r);
+            long changed = now ^ seen[r];
+            if (changed == 0) continue;
+            seen[r] = now;
+            while (changed != 0) {
+                int c = Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+                refresh(r, c);
+                if (r > 0) refresh(r - 1, c);
+                if (r + 1 < rows) refresh(r + 1, c);
+                if (c > 0) refresh(r, c - 1);
+                if (c + 1 < cols) refresh(r, c + 1);
+                changedSquares++;
+            }
+        }
+        return changedSquares;
+    }
+
+    /** Letters that may be placed on (row, col) by a word running in dir; 0 if occupied. */
+    public int allowed(Direction dir, int row, int col) {
+        int i = row * cols + col;
+        return dir == Direction.RIGHT ? rightMask[i] : downMask[i];
+    }
+
+    public boolean isAnchor(Direction dir, int row, int col) {
+        if (dir == Direction.RIGHT) return (rowAnchors[row] & (1L << col)) != 0;
+        return (colAnchors[2 * col + (row >> 6)] & (1L << (row & 63))) != 0;
+    }
+
+    /** True if a row (RIGHT) or column (DOWN) has an anchor, i.e. can hold a move after the first. */
+    public boolean hasAnchor(Direction dir, int line) {
+        if (dir == Direction.RIGHT) return rowAnchors[line] != 0;
+        return (colAnchors[2 * line] | colAnchors[2 * line + 1]) != 0;
+    }
+
+    /** Recomputes both masks and both anchor bits of one square from the board. */
+    private void refresh(int r, int c) {
+        int i = r * cols + c;
+        long rowBit = 1L << c;
+        long colBit = 1L << (r & 63);
+        int colWord = 2 * c + (r >> 6);
+
+        if (!board.isEmptyAt(r, c)) {
+            rightMask[i] = 0;
+            downMask[i] = 0;
+            rowAnchors[r] &= ~rowBit;
+            colAnchors[colWord] &= ~colBit;
+            return;
+        }
+
+        boolean right = !board.touchesAcross(r, c, Direction.RIGHT);
+        boolean down = !board.touchesAcross(r, c, Direction.DOWN);
+        rightMask[i] = right ? ALL_LETTERS : 0;
+        downMask[i] = down ? ALL_LETTERS : 0;
+
+        // for RIGHT the neighbours along the line are left/right, which is what DOWN's cross-check looks at
+        if (right && !down) rowAnchors[r] |= rowBit;
+        else rowAnchors[r] &= ~rowBit;
+        if (down && !right) colAnchors[colWord] |= colBit;
+        else colAnchors[colWord] &= ~colBit;
+    }
+}
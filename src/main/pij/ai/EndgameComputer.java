@@ -0,0 +1,361 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.MoveApplier;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+import pij.tiles.Zobrist;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computer player that solves the endgame exactly. Once the bag is empty the unseen
+ * tiles are the opponent's rack, so both racks are known and the rest of the game
+ * is a two-player search: negamax with alpha-beta over every legal move and the pass,
+ * maximising our final score minus the opponent's.
+ *
+ * The game ends when a player empties their rack (each player then loses the value
+ * of the tiles left on their own rack) or after four passes in a row, as in
+ * {@link pij.play.GameSession}, which tells the controller how many passes came
+ * just before the turn. The search deepens iteratively until the result is exact
+ * or the turn budget is used up; positions are Zobrist-hashed into a fixed-size
+ * transposition table, and a cutoff on an entry that was searched to a horizon
+ * counts as reaching that horizon. Before the endgame, moves come from the
+ * fallback player.
+ */
+public final class EndgameComputer implements PlayerController {
+
+    private static final int RACK_SIZE = 7;
+    private static final int MAX_PASSES = 4;
+    private static final int MAX_DEPTH = 64;
+    private static final byte EXACT = 0, LOWER = 1, UPPER = 2;
+    private static final byte PROVEN = Byte.MAX_VALUE; // depth of entries without a horizon below them
+
+    private final WordList dict;
+    private final MoveGenerator generator;
+    private final MoveValidator validator;
+    private final Scorer scorer = new Scorer();
+    private final MoveApplier applier = new MoveApplier();
+    private final PlayerController fallback;
+    private final TileCounts tileSet;
+    private final long budgetNanos;
+
+    // transposition table, one slot per index: always replaced
+    private final int ttMask;
+    private final long[] ttKey;
+    private final int[] ttValue;
+    private final byte[] ttDepth;
+    private final byte[] ttFlag;
+    private final short[] ttMove;
+
+    private volatile EndgameReport lastReport;
+
+    /** Default tile set, 2^18 table entries, greedy play before the endgame. */
+    public EndgameComputer(WordList dict, Duration budget) {
+        this(dict, TileBag.defaultTiles(), budget, 18, new GreedyComputer(dict));
+    }
+
+    /**
+     * @param tileSet  every tile of the game, used to work out the opponent's rack
+     * @param ttBits   log2 of the number of transposition table entries
+     * @param fallback player used while the bag may still hold tiles
+     */
+    public EndgameComputer(WordList dict, List<Tile> tileSet, Duration budget, int ttBits, PlayerController fallback) {
+        if (ttBits < 4 || ttBits > 26) throw new IllegalArgumentException("ttBits must be in 4..26");
+        this.dict = dict;
+        this.generator = new MoveGenerator(dict);
+        this.validator = new MoveValidator(dict);
+        this.fallback = fallback;
+        this.tileSet = new TileCounts(tileSet);
+        this.budgetNanos = budget.toNanos();
+        int size = 1 << ttBits;
+        this.ttMask = size - 1;
+        this.ttKey = new long[size];
+        this.ttValue = new int[size];
+        this.ttDepth = new byte[size];
+        this.ttFlag = new byte[size];
+        this.ttMove = new short[size];
+    }
+
+    /** As at the start of a game or after a move: no passes in a row. */
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+        return chooseMove(board, rack, firstMove, 0);
+    }
+
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove, int consecutivePasses) {
+        if (firstMove || board.isEmpty()) return fallback.chooseMove(board, rack, firstMove);
+        int[] unseen = tileSet.unseen(board, rack);
+        // while the bag holds tiles the opponent has a full rack, so more than 7 are unseen
+        if (total(unseen) > RACK_SIZE) return fallback.chooseMove(board, rack, false);
+
+        Rack opponent = new Rack();
+        for (int k = 0; k < unseen.length; k++) {
+            for (int j = 0; j < unseen[k]; j++) opponent.add(tileSet.newTile(k));
+        }
+        return chooseMove(board, rack, opponent, consecutivePasses);
+    }
+
+    /**
+     * Pondering is left to the fallback; the endgame itself is solved on the turn.
+     * Once no more than 7 tiles are unseen the bag is empty, the coming turn is an
+     * endgame that would not use the fallback's work, so it is not started.
+     */
+    @Override
+    public void ponder(Board board, Rack rack) {
+        if (!board.isEmpty() && total(tileSet.unseen(board, rack)) <= RACK_SIZE) {
+            fallback.stopPondering();
+            return;
+        }
+        fallback.ponder(board, rack);
+    }
+
+    @Override
+    public void stopPondering() {
+        fallback.stopPondering();
+    }
+
+    /**
+     * Solves the position with both racks known and the bag empty.
+     * The board and racks are not modified.
+     *
+     * @param consecutivePasses passes in a row just before this turn (0 to 3)
+     */
+    public Move chooseMove(Board board, Rack rack, Rack opponentRack, int consecutivePasses) {
+        if (consecutivePasses < 0 || consecutivePasses >= MAX_PASSES) {
+            throw new IllegalArgumentException("consecutivePasses must be in 0..3");
+        }
+        fallback.stopPondering(); // its lines are not used, and it would take CPU from the search
+        Search search = new Search(board, rack, opponentRack);
+        Move m = search.solve(consecutivePasses);
+        lastReport = search.report();
+        return m;
+    }
+
+    private static int total(int[] counts) {
+        int n = 0;
+        for (int c : counts) n += c;
+        return n;
+    }
+
+    /** Outcome of the most recent solved turn, or null if none was solved yet. */
+    public EndgameReport lastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Result of an endgame search.
+     *
+     * @param value        best final score difference for the player to move, at the depth reached
+     * @param depth        plies searched by the last completed iteration
+     * @param exact        true if that iteration reached the end of the game on every line
+     * @param nodes        positions visited
+     * @param elapsedNanos time spent
+     */
+    public record EndgameReport(int value, int depth, boolean exact, long nodes, long elapsedNanos) {}
+
+    /** Thrown through the search when the deadline has passed. */
+    private static final class Timeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final Timeout INSTANCE = new Timeout();
+
+        private Timeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** State of one solve: a forked board and copies of both racks, which keep their own Zobrist keys. */
+    private final class Search {
+        private final Board board;
+        private final CrossCheckCache crossChecks; // synced as moves are made and taken back
+        private final Rack[] racks = {new Rack(), new Rack()};
+        private final int[] rackValue = new int[2];
+        private final List<ValidationResult> results = new ArrayList<>();
+
+
+        private final long begin = System.nanoTime();
+        private final long deadline = begin + budgetNanos;
+        private long nodes;
+        private long horizonHits;
+        private int rootBest;
+        private int value;
+        private int depth;
+        private boolean exact;
+
+        Search(Board original, Rack own, Rack opponent) {
+            this.board = original.fork();
+            this.crossChecks = new CrossCheckCache(board);
+            load(0, own);
+            load(1, opponent);
+            Arrays.fill(ttKey, 0);
+        }
+
+        private void load(int side, Rack rack) {
+            if (rack.size() > RACK_SIZE) throw new IllegalArgumentException("rack holds more than " + RACK_SIZE + " tiles");
+            for (Tile t : rack.tilesView()) {
+                racks[side].add(TileCounts.copyOf(t));
+                rackValue[side] += t.value();
+            }
+        }
+
+        Move solve(int passes) {
+            Move best = Move.pass();
+            for (int d = 1; d <= MAX_DEPTH; d++) {
+                long hitsBefore = horizonHits;
+                Candidates root;
+                int v;
+                try {
+                    root = candidates(0, 0);
+                    v = negamax(0, 0, d, -Integer.MAX_VALUE, Integer.MAX_VALUE, passes);
+                } catch (Timeout t) {
+                    break;
+                }
+                best = rootBest < root.size() ? root.moves.get(rootBest) : Move.pass();
+                value = v;
+                depth = d;
+                exact = horizonHits == hitsBefore;
+                if (exact) break;
+            }
+            return best;
+        }
+
+        EndgameReport report() {
+            return new EndgameReport(value, depth, exact, nodes, System.nanoTime() - begin);
+        }
+
+        /**
+         * Key of the position: board, both racks (the opponent's remixed so that
+         * swapping the racks changes the key), side to move and passes in a row.
+         */
+        private long key(int side, int passes) {
+            return board.zobrist() ^ racks[0].zobrist() ^ Zobrist.mix(racks[1].zobrist())
+                    ^ Zobrist.mix(side * MAX_PASSES + passes + 1);
+        }
+
+        /**
+         * Final score difference for the side to move from here on, searched to
+         * the given depth; at the horizon the game is scored as if it ended now.
+         */
+        private int negamax(int ply, int side, int depth, int alpha, int beta, int passes) {
+            if ((++nodes & 1023) == 0 && System.nanoTime() - deadline >= 0) throw Timeout.INSTANCE;
+
+            long key = key(side, passes);
+            int slot = (int) (key & ttMask);
+            int ttBest = -1;
+            if (ttKey[slot] == key) {
+                ttBest = ttMove[slot];
+                if (ply > 0 && ttDepth[slot] >= depth) { // the root must search to pick its move
+                    int v = ttValue[slot];
+                    byte flag = ttFlag[slot];
+                    if (flag == EXACT || (flag == LOWER && v >= beta) || (flag == UPPER && v <= alpha)) {
+                        // a value found with a horizon below it stands in for that horizon
+                        if (ttDepth[slot] != PROVEN) horizonHits++;
+                        return v;
+                    }
+                }
+            }
+
+            int other = 1 - side;
+            if (depth == 0) {
+                horizonHits++;
+                return rackValue[other] - rackValue[side];
+            }
+
+            long hitsBefore = horizonHits;
+            int alphaIn = alpha;
+            Candidates cands = candidates(ply, side);
+            int n = cands.size();
+            int best = -Integer.MAX_VALUE;
+            int bestIndex = n; // n = pass
+
+            if (ttBest > n) ttBest = -1;
+            // the table's best move first, then by immediate score, the pass last
+            for (int k = -1; k <= n; k++) {
+                int i = k < 0 ? ttBest : k;
+                if (i < 0 || (k >= 0 && i == ttBest)) continue;
+                int v;
+                if (i == n) {
+                    v = passes + 1 >= MAX_PASSES
+                            ? rackValue[other] - rackValue[side]
+                            : -negamax(ply + 1, other, depth - 1, -beta, -alpha, passes + 1);
+                } else {
+                    v = play(ply, side, cands.moves.get(i), depth, alpha, beta);
+                }
+                if (v > best) {
+                    best = v;
+                    bestIndex = i;
+                }
+                if (v > alpha) alpha = v;
+                if (alpha >= beta) break;
+            }
+            if (ply == 0) rootBest = bestIndex;
+
+            ttKey[slot] = key;
+            ttValue[slot] = best;
+            ttDepth[slot] = horizonHits == hitsBefore ? PROVEN : (byte) depth;
+            ttFlag[slot] = best <= alphaIn ? UPPER : best >= beta ? LOWER : EXACT;
+            ttMove[slot] = (short) bestIndex;
+            return best;
+        }
+
+        /** Plays a move, searches the reply and takes the move back. */
+        private int play(int ply, int side, Move move, int depth, int alpha, int beta) {
+            ValidationResult r = result(ply);
+            validator.check(board, racks[side], move, false, dict, r);
+            int score = scorer.totalBeforeApply(board, r);
+            int placed = r.placementCount();
+
+            for (int j = 0; j < placed; j++) rackValue[side] -= r.placementValue(j);
+            MoveApplier.Undo undo = applier.apply(board, racks[side], r);
+
+            int other = 1 - side;
+            int v;
+            try {
+                v = racks[side].isEmpty()
+                        ? score + rackValue[other] // game over: only the opponent has tiles to pay for
+                        : score - negamax(ply + 1, other, depth - 1, -beta, -alpha, 0);
+            } finally {
+                applier.undo(undo);
+                // deeper plies use their own results, so r still describes this move
+                for (int j = 0; j < placed; j++) rackValue[side] += r.placementValue(j);
+            }
+            return v;
+        }
+
+        private ValidationResult result(int ply) {
+            while (results.size() <= ply) results.add(new ValidationResult());
+            return results.get(ply);
+        }
+
+        /** Legal moves of the side to move, best immediate score first. */
+        private Candidates candidates(int ply, int side) {
+            Rack rack = racks[side];
+            List<Move> moves = generator.generate(crossChecks, rack, false);
+            ValidationResult r = result(ply);
+            long[] keys = new long[moves.size()];
+            int count = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                if (validator.check(board, rack, moves.get(i), false, dict, r) != ValidationResult.OK) continue;
+                keys[count++] = ((long) scorer.totalBeforeApply(board, r) << 32) | (Integer.MAX_VALUE - i);
+            }
+            Arrays.sort(keys, 0, count);
+            List<Move> ordered = new ArrayList<>(count);
+            for (int k = count - 1; k >= 0; k--) ordered.add(moves.get(Integer.MAX_VALUE - (int) keys[k]));
+            return new Candidates(ordered);
+        }
+    }
+
+    private record Candidates(List<Move> moves) {
+        int size() { return moves.size(); }
+    }
+}
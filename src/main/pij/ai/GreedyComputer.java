@@ -0,0 +1,75 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computer player that plays the highest-scoring legal move, or passes if none exists.
+ * Every move from {@link MoveGenerator} is checked and scored against the current
+ * board without applying it; ties go to the move generated first, so the choice
+ * is deterministic.
+ */
+public final class GreedyComputer implements PlayerController {
+
+    private final MoveGenerator generator;
+    private final MoveValidator validator;
+    private final WordList dict;
+    private final Scorer scorer = new Scorer();
+    private final ValidationResult result = new ValidationResult();
+    private CrossCheckCache cache; // for the board of the last turn
+
+    public GreedyComputer(WordList dict) {
+        this(dict, new MoveGenerator(dict));
+    }
+
+    /** Uses the given generator, e.g. a parallel one built on the same dictionary. */
+    public GreedyComputer(WordList dict, MoveGenerator generator) {
+        this.generator = generator;
+        this.validator = new MoveValidator(dict);
+        this.dict = dict;
+    }
+
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+        List<ScoredMove> best = topMoves(board, rack, firstMove, 1);
+        return best.isEmpty() ? Move.pass() : best.get(0).move();
+    }
+
+    /**
+     * The n best legal moves, highest score first, each with its score breakdown.
+     * The board and rack are not modified.
+     */
+    public List<ScoredMove> topMoves(Board board, Rack rack, boolean firstMove, int n) {
+        if (n < 1) throw new IllegalArgumentException("n must be >= 1");
+        cache = CrossCheckCache.reuse(cache, board);
+        List<Move> moves = generator.generate(cache, rack, firstMove);
+
+        // score in the high half, reversed index in the low half: sorting puts
+        // the best score last and, among equal scores, the earliest move last
+        long[] keys = new long[moves.size()];
+        int count = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (validator.check(board, rack, moves.get(i), firstMove, dict, result) != ValidationResult.OK) continue;
+            int total = scorer.totalBeforeApply(board, result);
+            keys[count++] = ((long) total << 32) | (Integer.MAX_VALUE - i);
+        }
+        Arrays.sort(keys, 0, count);
+
+        List<ScoredMove> out = new ArrayList<>(Math.min(n, count));
+        for (int k = count - 1; k >= 0 && out.size() < n; k--) {
+            Move m = moves.get(Integer.MAX_VALUE - (int) keys[k]);
+            validator.check(board, rack, m, firstMove, dict, result);
+            out.add(new ScoredMove(m, scorer.scoreBeforeApply(board, result)));
+        }
+        return out;
+    }
+}
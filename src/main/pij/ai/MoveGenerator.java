@@ -0,0 +1,419 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.AnagramIndex;
+import pij.dict.Dawg;
+import pij.dict.WordList;
+import pij.metrics.Counter;
+import pij.metrics.Histogram;
+import pij.metrics.Metrics;
+import pij.metrics.MoveGenerationEvent;
+import pij.move.Move;
+import pij.tiles.Rack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Lists every legal move for a board and rack using anchor squares and cross-checks.
+ *
+ * A move may only create one word, so an empty square with an occupied neighbour
+ * across the line can never receive a tile (its cross-check set is empty). The
+ * cross-checks and anchors can come from a {@link CrossCheckCache} kept across turns.
+ * Anchors are the squares a move must cover: empty squares next to a tile along the
+ * line, or the start square on the first move. Words are walked through the
+ * dictionary's {@link Dawg} starting at every square that can begin a word, so only
+ * dictionary prefixes are ever expanded. On an empty board the first move only
+ * needs the words the rack can spell, which come from the cached {@link AnagramIndex}.
+ *
+ * Every row and column is searched independently against the board, so a generator
+ * built with a {@link ForkJoinPool} splits the lines into fork/join tasks. The
+ * per-line results are joined in line order, which gives exactly the list the
+ * sequential search produces; seeded callers stay reproducible.
+ */
+public final class MoveGenerator {
+
+    /** Lines per fork/join leaf task. */
+    private static final int LINES_PER_TASK = 2;
+
+    private static final Counter CALLS = Metrics.counter("movegen.calls");
+    private static final Counter CANDIDATES = Metrics.counter("movegen.candidates");
+    private static final Histogram LATENCY = Metrics.histogram("movegen.latency");
+
+    private final WordList dict;
+    private final Dawg dawg;
+    private final ForkJoinPool pool; // null = search lines on the calling thread
+
+    public MoveGenerator(WordList dict) {
+        this(dict, null);
+    }
+
+    /**
+     * Generator that searches lines in parallel on the given pool.
+     * The board must not be modified while {@link #generate} runs.
+     */
+    public MoveGenerator(WordList dict, ForkJoinPool pool) {
+        this.dict = dict;
+        this.dawg = dict.dawg();
+        this.pool = pool;
+    }
+
+    /**
+     * Returns all legal play moves (never a pass) for the given position.
+     * Each move spells the whole main word from its first square; letters taken from
+     * the board are uppercase and letters played with a wildcard are lowercase.
+     */
+    public List<Move> generate(Board board, Rack rack, boolean firstMove) {
+        List<Move> out = new ArrayList<>();
+        generate(board, null, rack, firstMove, () -> false, out::add);
+        return out;
+    }
+
+    /**
+     * Like {@link #generate(Board, Rack, boolean)} for the cache's board, taking
+     * cross-checks and anchors from the cache (synced first) instead of the board.
+     * Lines without an anchor are skipped without being scanned.
+     */
+    public List<Move> generate(CrossCheckCache cache, Rack rack, boolean firstMove) {
+        List<Move> out = new ArrayList<>();
+        generate(cache, rack, firstMove, () -> false, out::add);
+        return out;
+    }
+
+    /**
+     * Interruptible form of {@link #generate(Board, Rack, boolean)} for time-bounded search.
+     * Moves are passed to the sink on the calling thread, in the same order as the
+     * list form: as they are found, or for a parallel generator once its tasks finish.
+     * The stop condition is polled before each line and each word start; once it
+     * holds, the search ends and the moves found so far are still delivered.
+     *
+     * @return number of lines searched to the end, out of {@link #searchableLines}
+     */
+    public int generate(Board board, Rack rack, boolean firstMove, BooleanSupplier stop, Consumer<Move> sink) {
+        return generate(board, null, rack, firstMove, stop, sink);
+    }
+
+    /** Interruptible form of {@link #generate(CrossCheckCache, Rack, boolean)}. */
+    public int generate(CrossCheckCache cache, Rack rack, boolean firstMove, BooleanSupplier stop, Consumer<Move> sink) {
+        cache.sync();
+        return generate(cache.board(), cache, rack, firstMove, stop, sink);
+    }
+
+    /** Runs the search, recording it as metrics and as a Flight Recorder event if either is on. */
+    private int generate(Board board, CrossCheckCache cache, Rack rack, boolean firstMove,
+                         BooleanSupplier stop, Consumer<Move> sink) {
+        MoveGenerationEvent event = new MoveGenerationEvent();
+        boolean metrics = Metrics.enabled();
+        if (!metrics && !event.isEnabled()) return search(board, cache, rack, firstMove, stop, sink);
+
+        long begin = System.nanoTime();
+        event.begin();
+        int[] candidates = new int[1];
+        int lines = search(board, cache, rack, firstMove, stop, m -> {
+            candidates[0]++;
+            sink.accept(m);
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.candidates = candidates[0];
+            event.lines = lines;
+            event.rackSize = rack.size();
+            event.firstMove = firstMove;
+            event.commit();
+        }
+        if (metrics) {
+            CALLS.increment();
+            CANDIDATES.add(candidates[0]);
+            LATENCY.record(System.nanoTime() - begin);
+        }
+        return lines;
+    }
+
+    private int search(Board board, CrossCheckCache cache, Rack rack, boolean firstMove,
+                       BooleanSupplier stop, Consumer<Move> sink) {
+        int[] counts = new int[27];
+        int wildcards = countLetters(rack, counts);
+
+        if (rack.isEmpty()) return searchableLines(board, firstMove);
+
+        if (firstMove && rack.size() <= AnagramIndex.MAX_LENGTH && board.isEmpty()) {
+            // one cached lookup, fast enough not to need stop checks
+            firstMoves(board, dict.anagrams().feasibleWords(counts, wildcards), sink);
+            return searchableLines(board, true);
+        }
+
+        int lines = board.rows() + board.cols();
+        if (pool == null || firstMove) {
+            return searchLines(board, cache, 0, lines, counts, wildcards, rack.size(), firstMove, stop, sink);
+        }
+        AtomicInteger searched = new AtomicInteger();
+        List<Move> found = pool.invoke(new LineTask(board, cache, 0, lines, counts, wildcards, rack.size(), stop, searched));
+        found.forEach(sink);
+        return searched.get();
+    }
+
+    /**
+     * Moves after the first whose main word lies in line k: row k for k < rows,
+     * otherwise column k - rows. The cache is synced first. Searching every line in
+     * order delivers the same moves in the same order as {@link #generate(CrossCheckCache,
+     * Rack, boolean)} on a sequential generator, so callers can keep per-line results
+     * and search again only the lines a board change can affect. Always runs on the
+     * calling thread.
+     *
+     * @return true if the line was searched to the end (or holds no move)
+     */
+    public boolean generateLine(CrossCheckCache cache, Rack rack, int k, BooleanSupplier stop, Consumer<Move> sink) {
+        cache.sync();
+        int[] counts = new int[27];
+        int wildcards = countLetters(rack, counts);
+        if (rack.isEmpty()) return true;
+        Board board = cache.board();
+        return searchLines(board, cache, k, k + 1, counts, wildcards, rack.size(), false, stop, sink) == 1
+                || !stop.getAsBoolean();
+    }
+
+    /** Copies the rack's counts (index 0 = 'A') into counts and returns the number of wildcards. */
+    private static int countLetters(Rack rack, int[] counts) {
+        rack.copyCounts(counts);
+        return counts[Rack.WILDCARD];
+    }
+
+    /**
+     * Number of lines the search visits: those holding a tile, or on the
+     * first move the start square's row and column.
+     */
+    public int searchableLines(Board board, boolean firstMove) {
+        if (firstMove) return 2;
+        int n = 0;
+        for (int r = 0; r < board.rows(); r++) if (!board.isLineEmpty(Direction.RIGHT, r)) n++;
+        for (int c = 0; c < board.cols(); c++) if (!board.isLineEmpty(Direction.DOWN, c)) n++;
+        return n;
+    }
+
+    /**
+     * Searches lines [from, to): line k < rows is row k (RIGHT), the others are
+     * column k - rows (DOWN). Counts are restored after each line.
+     *
+     * @return number of lines searched to the end
+     */
+    private int searchLines(Board board, CrossCheckCache cache, int from, int to, int[] counts, int wildcards,
+                            int rackSize, boolean firstMove, BooleanSupplier stop, Consumer<Move> out) {
+        Square start = board.startSquare();
+        int searched = 0;
+        for (int k = from; k < to; k++) {
+            boolean right = k < board.rows();
+            Direction dir = right ? Direction.RIGHT : Direction.DOWN;
+            int line = right ? k : k - board.rows();
+            // without tiles in the line (or the start square on the first move) there is no anchor
+            int startLine = right ? start.row() : start.col();
+            if (firstMove ? line != startLine : board.isLineEmpty(dir, line)) continue;
+            if (stop.getAsBoolean()) break;
+            if (!firstMove && cache != null && !cache.hasAnchor(dir, line)) {
+                searched++; // nothing can be played in this line
+                continue;
+            }
+            if (new LineSearch(board, cache, dir, line, counts, wildcards, rackSize, firstMove, out).run(stop)) searched++;
+        }
+        return searched;
+    }
+
+    /**
+     * Splits a range of lines in halves; results are concatenated left half first.
+     * Serializable only because ForkJoinTask is; it is never serialized.
+     */
+    @SuppressWarnings("serial") // fields of non-serializable types
+    private final class LineTask extends RecursiveTask<List<Move>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final CrossCheckCache cache;
+        private final int from;
+        private final int to;
+        private final int[] counts;
+        private final int wildcards;
+        private final int rackSize;
+        private final BooleanSupplier stop;
+        private final AtomicInteger searched;
+
+        LineTask(Board board, CrossCheckCache cache, int from, int to, int[] counts, int wildcards, int rackSize,
+                 BooleanSupplier stop, AtomicInteger searched) {
+            this.board = board;
+            this.cache = cache;
+            this.from = from;
+            this.to = to;
+            this.counts = counts;
+            this.wildcards = wildcards;
+            this.rackSize = rackSize;
+            this.stop = stop;
+            this.searched = searched;
+        }
+
+        @Override
+        protected List<Move> compute() {
+            if (to - from <= LINES_PER_TASK) {
+                List<Move> out = new ArrayList<>();
+                // line searches borrow counts while they run, so each leaf gets its own copy
+                searched.addAndGet(searchLines(board, cache, from, to, counts.clone(), wildcards, rackSize, false, stop, out::add));
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            LineTask left = new LineTask(board, cache, from, mid, counts, wildcards, rackSize, stop, searched);
+            LineTask right = new LineTask(board, cache, mid, to, counts, wildcards, rackSize, stop, searched);
+            right.fork();
+            List<Move> out = left.compute();
+            out.addAll(right.join());
+            return out;
+        }
+    }
+
+    /** Places every spelling across and down so that it covers the start square. */
+    private void firstMoves(Board board, List<String> spellings, Consumer<Move> out) {
+        Square s = board.startSquare();
+        for (String w : spellings) {
+            int len = w.length();
+            for (int from = Math.max(0, s.col() - len + 1); from <= s.col() && from + len <= board.cols(); from++) {
+                out.accept(Move.play(w, new Square(s.row(), from), Direction.RIGHT));
+            }
+            for (int from = Math.max(0, s.row() - len + 1); from <= s.row() && from + len <= board.rows(); from++) {
+                out.accept(Move.play(w, new Square(from, s.col()), Direction.DOWN));
+            }
+        }
+    }
+
+    /**
+     * Search state for a single row (RIGHT) or column (DOWN).
+     */
+    private final class LineSearch {
+        private final Direction dir;
+        private final int line;
+        private final int length;
+        private final char[] letters;     // uppercase board letter, or 0 if empty
+        private final int[] allowed;      // letters an empty square may receive (cross-check mask)
+        private final boolean[] anchor;
+        private final int[] counts;
+        private final int rackSize;
+        private final Consumer<Move> out;
+
+        private final char[] word;
+        private int wildcards;
+        private int start;
+
+        LineSearch(Board board, CrossCheckCache cache, Direction dir, int line, int[] counts, int wildcards,
+                   int rackSize, boolean firstMove, Consumer<Move> out) {
+            this.dir = dir;
+            this.line = line;
+            this.length = dir == Direction.RIGHT ? board.cols() : board.rows();
+            this.letters = new char[length];
+            this.allowed = new int[length];
+            this.anchor = new boolean[length];
+            this.counts = counts;
+            this.wildcards = wildcards;
+            this.rackSize = rackSize;
+            this.out = out;
+            this.word = new char[length];
+
+            for (int i = 0; i < length; i++) {
+                int row = rowOf(i);
+                int col = colOf(i);
+                if (!board.isEmptyAt(row, col)) {
+                    letters[i] = board.letterAt(row, col);
+                } else if (cache != null) {
+                    allowed[i] = cache.allowed(dir, row, col);
+                    anchor[i] = !firstMove && cache.isAnchor(dir, row, col);
+                } else {
+                    allowed[i] = board.touchesAcross(row, col, dir) ? 0 : CrossCheckCache.ALL_LETTERS;
+                }
+            }
+
+            if (firstMove) {
+                Square s = board.startSquare();
+                int startLine = dir == Direction.RIGHT ? s.row() : s.col();
+                if (startLine == line) anchor[dir == Direction.RIGHT ? s.col() : s.row()] = true;
+            } else if (cache == null) {
+                for (int i = 0; i < length; i++) {
+                    if (letters[i] != 0 || allowed[i] == 0) continue;
+                    boolean before = i > 0 && letters[i - 1] != 0;
+                    boolean after = i + 1 < length && letters[i + 1] != 0;
+                    anchor[i] = before || after;
+                }
+            }
+        }
+
+        /** Searches every word start of the line; false if stopped before the end. */
+        boolean run(BooleanSupplier stop) {
+            for (int s = 0; s < length; s++) {
+                if (s > 0 && letters[s - 1] != 0) continue; // a word cannot start mid-word
+                if (!anchorReachable(s)) continue;
+                if (stop.getAsBoolean()) return false;
+                start = s;
+                extend(s, dawg.root(), 0, false);
+            }
+            return true;
+        }
+
+        /** True if some anchor at or after s can be covered with the tiles on the rack. */
+        private boolean anchorReachable(int s) {
+            int empties = 0;
+            for (int i = s; i < length; i++) {
+                if (letters[i] == 0) {
+                    if (allowed[i] == 0 || ++empties > rackSize) return false;
+                }
+                if (anchor[i]) return true;
+            }
+            return false;
+        }
+
+        private void extend(int pos, int node, int placed, boolean covered) {
+            if (pos == length) return;
+
+            if (letters[pos] != 0) {
+                int edge = dawg.edge(node, letters[pos] - 'A');
+                if (edge == Dawg.NO_EDGE) return;
+                word[pos] = letters[pos];
+                accept(pos, edge, placed, covered || anchor[pos]);
+                return;
+            }
+
+            if (allowed[pos] == 0 || placed == rackSize) return;
+
+            int successors = dawg.successorMask(node) & allowed[pos];
+            for (int l = 0; l < 26; l++) {
+                if ((successors & (1 << l)) == 0 || (counts[l] == 0 && wildcards == 0)) continue;
+                int edge = dawg.edge(node, l);
+
+                if (counts[l] > 0) {
+                    counts[l]--;
+                    word[pos] = (char) ('A' + l);
+                    accept(pos, edge, placed + 1, covered || anchor[pos]);
+                    counts[l]++;
+                }
+                if (wildcards > 0) {
+                    wildcards--;
+                    word[pos] = (char) ('a' + l);
+                    accept(pos, edge, placed + 1, covered || anchor[pos]);
+                    wildcards++;
+                }
+            }
+        }
+
+        /** Called after word[pos] has been filled via edge; records a finished word and keeps extending. */
+        private void accept(int pos, int edge, int placed, boolean covered) {
+            boolean endsHere = pos + 1 == length || letters[pos + 1] == 0;
+            if (endsHere && covered && placed > 0 && pos - start >= 1 && Dawg.endsWord(edge)) {
+                out.accept(Move.play(new String(word, start, pos - start + 1),
+                        new Square(rowOf(start), colOf(start)), dir));
+            }
+            extend(pos + 1, Dawg.target(edge), placed, covered);
+        }
+
+        private int rowOf(int i) { return dir == Direction.RIGHT ? line : i; }
+        private int colOf(int i) { return dir == Direction.RIGHT ? i : line; }
+    }
+}
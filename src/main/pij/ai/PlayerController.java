@@ -13,4 +13,24 @@ public interface PlayerController {
      * May return a pass move.
      */
     Move chooseMove(Board board, Rack rack, boolean firstMove);
+
+    /**
+     * Like {@link #chooseMove(Board, Rack, boolean)}, also told how many passes in a
+     * row came just before this turn (four end the game). Controllers that do not
+     * plan for the end of the game ignore it, which is the default.
+     */
+    default Move chooseMove(Board board, Rack rack, boolean firstMove, int consecutivePasses) {
+        return chooseMove(board, rack, firstMove);
+    }
+
+    /**
+     * Called when the opponent's turn starts, with this player's rack. A controller
+     * may use the opponent's thinking time to prepare its next move in the background;
+     * it must copy what it needs, since the board changes once the opponent moves.
+     * Does nothing by default.
+     */
+    default void ponder(Board board, Rack rack) {}
+
+    /** Stops any background work started by {@link #ponder}, e.g. when the game is over. */
+    default void stopPondering() {}
 }
@@ -0,0 +1,266 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.board.Direction;
+import pij.dict.WordList;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.Zobrist;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Greedy computer player that thinks during the opponent's turn. {@link #ponder}
+ * starts a virtual thread that finds the best move of every row and column on a
+ * fork of the board, for a copy of our rack. By our turn the opponent has added
+ * tiles to that board, but a row's moves depend only on the row and the rows next
+ * to it (through cross-checks), and likewise for columns; so only the lines within
+ * one square of a new tile, and any the pondering did not finish, are searched
+ * again. The move played is the one {@link GreedyComputer} would choose: the best
+ * score, ties going to the move generated first.
+ *
+ * That locality rests on two assumptions. First, a move may create only one word,
+ * so a square's cross-check looks no further than the squares on either side of
+ * it (see {@link CrossCheckCache}); a rule that scored cross-words would let a tile
+ * change moves in lines further away, and reused lines would be stale. Second, the
+ * new tiles are found from {@link Board#rowOccupancy}, a {@code long} per row, so
+ * boards may be at most 64 columns wide.
+ *
+ * Pondered lines are used only if the rack is unchanged and the board is the
+ * pondered one plus new tiles, which is checked against the Zobrist keys; otherwise
+ * the turn searches in full. On an empty board pondering warms the anagram cache
+ * for the rack instead, in case the opponent passes and we make the first move.
+ * Like {@link TimedComputer}, a turn stops at its budget with the best move so far.
+ */
+public final class PonderingComputer implements PlayerController {
+
+    private final WordList dict;
+    private final MoveGenerator generator;
+    private final GreedyComputer greedy; // first moves
+    private final long budgetNanos;
+    private CrossCheckCache cache; // for the board of the last turn
+
+    private Ponder pondering; // started for the coming turn, or null
+    private volatile int lastReused;
+
+    public PonderingComputer(WordList dict, Duration budget) {
+        this(dict, new MoveGenerator(dict), budget);
+    }
+
+    /** Uses the given generator for full searches, e.g. a parallel one built on the same dictionary. */
+    public PonderingComputer(WordList dict, MoveGenerator generator, Duration budget) {
+        if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("budget must be positive");
+        this.dict = dict;
+        this.generator = generator;
+        this.greedy = new GreedyComputer(dict, generator);
+        this.budgetNanos = budget.toNanos();
+    }
+
+    @Override
+    public void ponder(Board board, Rack rack) {
+        Ponder p = pondering;
+        // called again for the same turn, e.g. after the opponent's illegal move
+        if (p != null && p.board.zobrist() == board.zobrist() && p.rack.zobrist() == rack.zobrist()) return;
+        stopPondering();
+
+        Rack copy = new Rack();
+        for (Tile t : rack.tilesView()) copy.add(TileCounts.copyOf(t));
+        p = new Ponder(board.fork(), copy);
+        p.thread = Thread.ofVirtual().name("ponder").start(p);
+        pondering = p;
+    }
+
+    @Override
+    public void stopPondering() {
+        Ponder p = pondering;
+        pondering = null;
+        if (p != null) p.stop();
+    }
+
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+        long deadline = System.nanoTime() + budgetNanos;
+        BooleanSupplier stop = () -> System.nanoTime() - deadline >= 0;
+
+        Ponder p = pondering;
+        pondering = null;
+        boolean finished = p != null && p.stop();
+        lastReused = 0;
+        if (firstMove) return greedy.chooseMove(board, rack, true);
+
+        cache = CrossCheckCache.reuse(cache, board);
+        Lines lines = new Lines(cache, rack);
+        int reused = finished ? reuse(p, board, rack, lines) : 0;
+        if (reused == 0) {
+            lines.searchAll(stop);
+        } else {
+            for (int k = 0; k < lines.size(); k++) {
+                if (!lines.done[k] && !lines.search(k, stop)) break;
+            }
+        }
+        lastReused = reused;
+        Move best = lines.best();
+        return best == null ? Move.pass() : best;
+    }
+
+    /** Waits until the current pondering has searched everything it can; for tests. */
+    void awaitPondering() throws InterruptedException {
+        Ponder p = pondering;
+        if (p != null) p.thread.join();
+    }
+
+    /** Lines of the most recent turn whose pondered result was used (0 if none). */
+    public int lastReusedLines() {
+        return lastReused;
+    }
+
+    /**
+     * Copies the pondered result of every finished line that the tiles added since
+     * cannot affect.
+     *
+     * @return number of lines copied; 0 if the position is not the pondered one plus new tiles
+     */
+    private static int reuse(Ponder p, Board board, Rack rack, Lines lines) {
+        Board old = p.board;
+        int rows = board.rows();
+        int cols = board.cols();
+        if (p.lines == null || old.rows() != rows || old.cols() != cols || p.rack.zobrist() != rack.zobrist()) return 0;
+
+        boolean[] affected = new boolean[rows + cols];
+        long expected = old.zobrist();
+        for (int r = 0; r < rows; r++) {
+            long was = old.rowOccupancy(r);
+            long now = board.rowOccupancy(r);
+            if ((was & ~now) != 0) return 0; // a tile was taken away
+            for (long added = now & ~was; added != 0; added &= added - 1) {
+                int c = Long.numberOfTrailingZeros(added);
+                expected ^= Zobrist.square(r * cols + c, board.letterAt(r, c), board.isWildcardAt(r, c));
+                for (int d = -1; d <= 1; d++) {
+                    if (r + d >= 0 && r + d < rows) affected[r + d] = true;
+                    if (c + d >= 0 && c + d < cols) affected[rows + c + d] = true;
+                }
+            }
+        }
+        if (expected != board.zobrist()) return 0; // the old tiles are not all where they were
+
+        int reused = 0;
+        for (int k = 0; k < affected.length; k++) {
+            if (affected[k] || !p.lines.done[k]) continue;
+            lines.best[k] = p.lines.best[k];
+            lines.score[k] = p.lines.score[k];
+            lines.done[k] = true;
+            reused++;
+        }
+        return reused;
+    }
+
+    /**
+     * Best move of each line of one board and rack, filled in line by line. Line
+     * k < rows is row k (RIGHT), the others are column k - rows (DOWN), as in
+     * {@link MoveGenerator#generateLine}. Has its own validator and scorer, so a
+     * pondering thread and the turn can each use one.
+     */
+    private final class Lines {
+        final CrossCheckCache cache;
+        final Rack rack;
+        final MoveValidator validator = new MoveValidator(dict);
+        final Scorer scorer = new Scorer();
+        final ValidationResult result = new ValidationResult();
+        final Move[] best;
+        final int[] score;
+        final boolean[] done;
+
+        Lines(CrossCheckCache cache, Rack rack) {
+            this.cache = cache;
+            this.rack = rack;
+            int n = cache.board().rows() + cache.board().cols();
+            this.best = new Move[n];
+            this.score = new int[n];
+            this.done = new boolean[n];
+        }
+
+        int size() { return best.length; }
+
+        /** Searches line k; false if stopped before its end. */
+        boolean search(int k, BooleanSupplier stop) {
+            done[k] = generator.generateLine(cache, rack, k, stop, m -> offer(k, m));
+            return done[k];
+        }
+
+        /** Searches every line at once, in parallel if the generator has a pool. */
+        void searchAll(BooleanSupplier stop) {
+            Board board = cache.board();
+            int searched = generator.generate(cache, rack, false, stop,
+                    m -> offer(m.direction() == Direction.RIGHT ? m.start().row() : board.rows() + m.start().col(), m));
+            if (searched == generator.searchableLines(board, false)) Arrays.fill(done, true);
+        }
+
+        /** Strictly better scores replace the line's best, so ties go to the earlier move. */
+        private void offer(int k, Move m) {
+            Board board = cache.board();
+            if (validator.check(board, rack, m, false, dict, result) != ValidationResult.OK) return;
+            int total = scorer.totalBeforeApply(board, result);
+            if (best[k] == null || total > score[k]) {
+                best[k] = m;
+                score[k] = total;
+            }
+        }
+
+        /** Best move over all lines, ties going to the lowest line; null if there is none. */
+        Move best() {
+            int at = -1;
+            for (int k = 0; k < best.length; k++) {
+                if (best[k] != null && (at < 0 || score[k] > score[at])) at = k;
+            }
+            return at < 0 ? null : best[at];
+        }
+    }
+
+    /** One pondering run on a forked board and a copy of the rack. */
+    private final class Ponder implements Runnable {
+        final Board board;
+        final Rack rack;
+        volatile boolean cancelled;
+        Thread thread;
+        Lines lines; // null on an empty board
+
+        Ponder(Board board, Rack rack) {
+            this.board = board;
+            this.rack = rack;
+        }
+
+        @Override
+        public void run() {
+            if (board.isEmpty()) {
+                generator.generate(board, rack, true); // fills the anagram cache
+                return;
+            }
+            Lines l = new Lines(new CrossCheckCache(board), rack);
+            lines = l;
+            for (int k = 0; k < l.size() && !cancelled; k++) {
+                if (!l.search(k, () -> cancelled)) break;
+            }
+        }
+
+        /**
+         * Cancels the run and waits for it to end.
+         *
+         * @return true if it ended, so that its results may be read
+         */
+        boolean stop() {
+            cancelled = true;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return !thread.isAlive();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package pij.ai;
+
+import pij.move.Move;
+import pij.score.ScoreBreakdown;
+
+/** A candidate move together with the score it would make. */
+public record ScoredMove(Move move, ScoreBreakdown score) {}
@@ -0,0 +1,18 @@
+package pij.ai;
+
+/**
+ * How much of the move search a computer turn covered.
+ *
+ * @param linesSearched rows and columns searched to the end
+ * @param lines         rows and columns the full search visits
+ * @param candidates    legal moves found and scored
+ * @param elapsedNanos  time spent on the turn
+ * @param stopped       true if the deadline or a cancellation ended the search early
+ */
+public record SearchReport(int linesSearched, int lines, int candidates, long elapsedNanos, boolean stopped) {
+
+    /** Fraction of lines searched, 1.0 for a complete search. */
+    public double coverage() {
+        return lines == 0 ? 1.0 : (double) linesSearched / lines;
+    }
+}
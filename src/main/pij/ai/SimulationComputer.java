@@ -0,0 +1,193 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.MoveApplier;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Computer player that looks ahead by simulation. The best few moves by immediate
+ * score are each tried in many rollouts: the opponent's rack and the bag order are
+ * sampled from the unseen tiles (the tile set minus the board and our own rack,
+ * i.e. the bag plus the other rack as seen in a closed game), then both players
+ * play greedily for a few plies. The move with the best average score difference
+ * is played.
+ *
+ * Rollouts run as fork/join tasks, each on a forked board with fresh racks and
+ * its own {@link SplittableRandom} split from the seed in a fixed order, so a run
+ * that finishes within its budget is reproducible. Rollouts are scheduled in
+ * rounds over all candidates until the budget or the rollout limit is reached.
+ */
+public final class SimulationComputer implements PlayerController {
+
+    private static final int RACK_SIZE = 7;
+
+    private final WordList dict;
+    private final MoveGenerator generator;
+    private final MoveValidator validator;
+    private final GreedyComputer greedy;
+    private final Scorer scorer = new Scorer();
+    private final MoveApplier applier = new MoveApplier();
+
+    private final TileCounts tileSet;
+    private final int candidates;
+    private final int plies;
+    private final int rolloutsPerCandidate;
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seeds;
+
+    private volatile int lastRollouts;
+
+    /** Eight candidates, two plies of lookahead, up to 256 rollouts each, default tile set. */
+    public SimulationComputer(WordList dict, Duration budget) {
+        this(dict, TileBag.defaultTiles(), 8, 2, 256, budget, ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    /**
+     * @param tileSet              every tile of the game, used to work out the unseen tiles
+     * @param candidates           number of best-scoring moves to simulate
+     * @param plies                greedy moves played after ours in each rollout
+     * @param rolloutsPerCandidate upper bound on rollouts per candidate per turn
+     * @param seed                 seed of the rollout random streams
+     */
+    public SimulationComputer(WordList dict, List<Tile> tileSet, int candidates, int plies,
+                              int rolloutsPerCandidate, Duration budget, ForkJoinPool pool, long seed) {
+        if (candidates < 1 || plies < 0 || rolloutsPerCandidate < 1) {
+            throw new IllegalArgumentException("candidates and rollouts must be >= 1, plies >= 0");
+        }
+        this.dict = dict;
+        this.generator = new MoveGenerator(dict);
+        this.validator = new MoveValidator(dict);
+        this.greedy = new GreedyComputer(dict, generator);
+        this.candidates = candidates;
+        this.plies = plies;
+        this.rolloutsPerCandidate = rolloutsPerCandidate;
+        this.budgetNanos = budget.toNanos();
+        this.pool = pool;
+        this.seeds = new SplittableRandom(seed);
+        this.tileSet = new TileCounts(tileSet);
+    }
+
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<ScoredMove> top = greedy.topMoves(board, rack, firstMove, candidates);
+        lastRollouts = 0;
+        if (top.isEmpty()) return Move.pass();
+        if (top.size() == 1 || plies == 0) return top.get(0).move();
+
+        int[] unseen = tileSet.unseen(board, rack);
+        double[] sums = new double[top.size()];
+        int[] counts = new int[top.size()];
+        int batch = Math.max(1, pool.getParallelism());
+
+        for (int round = 0; round * batch < rolloutsPerCandidate && System.nanoTime() - deadline < 0; round++) {
+            List<ForkJoinTask<Double>> jobs = new ArrayList<>();
+            int perCandidate = Math.min(batch, rolloutsPerCandidate - round * batch);
+            for (int c = 0; c < top.size(); c++) {
+                Move move = top.get(c).move();
+                for (int i = 0; i < perCandidate; i++) {
+                    SplittableRandom rng = seeds.split();
+                    jobs.add(ForkJoinTask.adapt(() -> rollout(board, rack, firstMove, move, unseen, rng, deadline)));
+                }
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(jobs)));
+            for (int j = 0; j < jobs.size(); j++) {
+                double d = jobs.get(j).join();
+                if (Double.isNaN(d)) continue; // ran past the deadline
+                sums[j / perCandidate] += d;
+                counts[j / perCandidate]++;
+            }
+        }
+
+        int best = 0;
+        int total = 0;
+        for (int c = 0; c < top.size(); c++) {
+            total += counts[c];
+            if (counts[c] > 0 && (counts[best] == 0 || sums[c] / counts[c] > sums[best] / counts[best])) best = c;
+        }
+        lastRollouts = total;
+        return top.get(best).move();
+    }
+
+    /** Rollouts completed in the most recent turn (0 if no simulation was needed). */
+    public int lastRolloutCount() {
+        return lastRollouts;
+    }
+
+    /**
+     * Plays our move and then {@code plies} greedy moves on a forked board with a
+     * sampled opponent rack and bag order.
+     *
+     * @return our score minus the opponent's over the rollout, or NaN if the deadline passed
+     */
+    private double rollout(Board original, Rack ours, boolean firstMove, Move move, int[] unseen,
+                           SplittableRandom rng, long deadline) {
+        if (System.nanoTime() - deadline >= 0) return Double.NaN;
+
+        Board board = original.fork();
+        ValidationResult result = new ValidationResult();
+        TileBag bag = tileSet.bag(unseen, rng);
+
+        Rack[] racks = {new Rack(), new Rack()};
+        for (Tile t : ours.tilesView()) racks[0].add(TileCounts.copyOf(t));
+        refill(racks[1], bag);
+
+        validator.check(board, racks[0], move, firstMove, dict, result);
+        int diff = scorer.totalBeforeApply(board, result);
+        applier.apply(board, racks[0], result);
+        refill(racks[0], bag);
+
+        int passes = 0;
+        for (int ply = 1; ply <= plies; ply++) {
+            Rack rack = racks[ply & 1];
+            if (rack.isEmpty() || passes == 2) break;
+            int score = playGreedy(board, rack, result);
+            if (score == Integer.MIN_VALUE) {
+                passes++;
+                continue;
+            }
+            passes = 0;
+            diff += (ply & 1) == 0 ? score : -score;
+            refill(rack, bag);
+        }
+        return diff;
+    }
+
+    /** Applies the best-scoring move for the rack; returns its score, or MIN_VALUE for a pass. */
+    private int playGreedy(Board board, Rack rack, ValidationResult result) {
+        Move best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (Move m : generator.generate(board, rack, false)) {
+            if (validator.check(board, rack, m, false, dict, result) != ValidationResult.OK) continue;
+            int s = scorer.totalBeforeApply(board, result);
+            if (best == null || s > bestScore) {
+                best = m;
+                bestScore = s;
+            }
+        }
+        if (best == null) return Integer.MIN_VALUE;
+        validator.check(board, rack, best, false, dict, result);
+        applier.apply(board, rack, result);
+        return bestScore;
+    }
+
+    /** Tops the rack up from the sampled bag; these draws are not counted as game metrics. */
+    private static void refill(Rack rack, TileBag bag) {
+        while (rack.size() < RACK_SIZE && !bag.isEmpty()) rack.add(bag.newTile(bag.drawIndex()));
+    }
+}
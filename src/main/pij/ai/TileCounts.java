@@ -0,0 +1,65 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The tile set of a game as counts per letter, index 26 for wildcards.
+ * Lets computer players work out which tiles they have not seen yet.
+ */
+final class TileCounts {
+
+    static final int WILDCARD = 26;
+
+    private final int[] counts = new int[27];
+    private final int[] values = new int[27];
+
+    TileCounts(List<Tile> tileSet) {
+        for (Tile t : tileSet) {
+            int k = index(t);
+            counts[k]++;
+            values[k] = t.value();
+        }
+    }
+
+    static int index(Tile t) {
+        return t.isWildcard() ? WILDCARD : t.letter() - 'A';
+    }
+
+    /** Counts of tiles neither on the board nor on the rack: the bag plus the other player's rack. */
+    int[] unseen(Board board, Rack rack) {
+        int[] unseen = counts.clone();
+        for (int r = 0; r < board.rows(); r++) {
+            for (int c = 0; c < board.cols(); c++) {
+                if (board.isEmptyAt(r, c)) continue;
+                unseen[board.isWildcardAt(r, c) ? WILDCARD : board.letterAt(r, c) - 'A']--;
+            }
+        }
+        int[] held = new int[27];
+        rack.copyCounts(held);
+        for (int k = 0; k < held.length; k++) unseen[k] -= held[k];
+        // a board or rack from another tile set must not make counts negative
+        for (int k = 0; k < unseen.length; k++) unseen[k] = Math.max(0, unseen[k]);
+        return unseen;
+    }
+
+    /** A bag holding the given counts, with the tile set's values. */
+    TileBag bag(int[] counts, SplittableRandom rng) {
+        return new TileBag(counts, values, rng);
+    }
+
+    /** A new tile of the given index, with the tile set's value for it. */
+    Tile newTile(int k) {
+        return k == WILDCARD ? Tile.wildcard() : Tile.normal((char) ('A' + k), values[k]);
+    }
+
+    /** New, unbound copy of a tile, so a search can place it without touching the original. */
+    static Tile copyOf(Tile t) {
+        return t.isWildcard() ? Tile.wildcard() : Tile.normal(t.letter(), t.value());
+    }
+}
@@ -0,0 +1,109 @@
+package pij.ai;
+
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Computer player with a per-turn time budget. Moves are scored as the generator
+ * finds them and the best one so far is kept; when the deadline passes (or the
+ * turn is cancelled) the search stops and that move is played, or a pass if none
+ * was found yet. With enough time it plays the same move as {@link GreedyComputer}.
+ *
+ * The deadline is checked cooperatively between word starts, so a turn may run
+ * over its budget by the time it takes to expand one start square. With a parallel
+ * {@link MoveGenerator} the stop condition is polled from the pool's worker
+ * threads, so everything it reads is volatile or final, and a caller's
+ * cancellation condition must be safe to call from any thread too.
+ */
+public final class TimedComputer implements PlayerController {
+
+    private final MoveGenerator generator;
+    private final MoveValidator validator;
+    private final WordList dict;
+    private final Scorer scorer = new Scorer();
+    private final ValidationResult result = new ValidationResult();
+    private CrossCheckCache cache; // for the board of the last turn
+    private final long budgetNanos;
+
+    private volatile boolean cancelRequested; // read by the stop condition, maybe on pool threads
+    private volatile SearchReport lastReport;
+
+    public TimedComputer(WordList dict, Duration budget) {
+        this(dict, new MoveGenerator(dict), budget);
+    }
+
+    public TimedComputer(WordList dict, MoveGenerator generator, Duration budget) {
+        if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("budget must be positive");
+        this.generator = generator;
+        this.validator = new MoveValidator(dict);
+        this.dict = dict;
+        this.budgetNanos = budget.toNanos();
+    }
+
+    @Override
+    public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+        return chooseMove(board, rack, firstMove, () -> false);
+    }
+
+    /**
+     * Like {@link #chooseMove(Board, Rack, boolean)}, and also stops once the caller's
+     * cancellation condition holds. The condition may be polled from other threads.
+     */
+    public Move chooseMove(Board board, Rack rack, boolean firstMove, BooleanSupplier cancelled) {
+        long begin = System.nanoTime();
+        long deadline = begin + budgetNanos;
+        BooleanSupplier stop = () -> cancelRequested || cancelled.getAsBoolean() || System.nanoTime() - deadline >= 0;
+
+        Best best = new Best();
+        cache = CrossCheckCache.reuse(cache, board);
+        int searched;
+        try {
+            searched = generator.generate(cache, rack, firstMove, stop, m -> {
+                if (validator.check(board, rack, m, firstMove, dict, result) != ValidationResult.OK) return;
+                best.offer(m, scorer.totalBeforeApply(board, result));
+            });
+        } finally {
+            cancelRequested = false; // a cancel applies to one turn
+        }
+
+        int lines = generator.searchableLines(board, firstMove);
+        lastReport = new SearchReport(searched, lines, best.candidates, System.nanoTime() - begin, searched < lines);
+        return best.move == null ? Move.pass() : best.move;
+    }
+
+    /**
+     * Asks the turn in progress to stop and play its best move so far; if no turn is
+     * in progress, the next one stops at once. Safe from any thread.
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    /** Coverage of the most recent turn, or null before the first one. */
+    public SearchReport lastReport() {
+        return lastReport;
+    }
+
+    /** Best move so far; strictly better scores replace it, so ties go to the earlier move. */
+    private static final class Best {
+        Move move;
+        int score;
+        int candidates;
+
+        void offer(Move m, int total) {
+            if (move == null || total > score) {
+                move = m;
+                score = total;
+            }
+            candidates++;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package pij.bench;
+
+import pij.ai.GreedyComputer;
+import pij.ai.SimpleComputer;
+import pij.board.Board;
+import pij.board.BoardLoader;
+import pij.board.Direction;
+import pij.dict.WordList;
+import pij.game.IllegalMoveException;
+import pij.game.MoveApplier;
+import pij.game.MoveValidator;
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks of the core hot paths: dictionary loading and lookup, move validation,
+ * scoring, board loading, drawing from the bag and the simple computer's move on
+ * empty, mid-game and dense boards of 15x15 and 26x99 squares. All inputs come
+ * from {@link Fixtures} with fixed seeds, so runs on the same machine compare.
+ *
+ * Usage: {@code java pij.bench.CoreBenchmarks [--quick] [--save file] [--baseline file] [filter]}.
+ * {@code --save} writes the means as tab-separated lines; {@code --baseline} reads
+ * such a file and prints each case's change against it. Only cases whose name
+ * contains the filter are run.
+ */
+public final class CoreBenchmarks {
+
+    private static final long SEED = 20251;
+    private static final String RACK = "AEINRST";
+
+    private final WordList dict;
+    private final Harness harness;
+    private final String filter;
+
+    public CoreBenchmarks(WordList dict, Harness harness, String filter) {
+        this.dict = dict;
+        this.harness = harness;
+        this.filter = filter;
+    }
+
+    public void runAll() throws Exception {
+        dictionary();
+        validation();
+        scoring();
+        boardLoading();
+        bag();
+        simpleComputer();
+    }
+
+    private void bench(String name, Harness.Op op) throws Exception {
+        if (!name.contains(filter)) return;
+        System.out.println(harness.run(name, op).format());
+    }
+
+    private void dictionary() throws Exception {
+        bench("WordList.fromResource", () -> WordList.fromResource("/wordlist.txt").size());
+
+        // every 97th word, and the same words with one letter changed where that is not a word
+        List<String> hits = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        int i = 0;
+        for (String w : dict.allWords()) {
+            if (i++ % 97 != 0) continue;
+            hits.add(w);
+            char[] cs = w.toCharArray();
+            cs[cs.length / 2] = cs[cs.length / 2] == 'Q' ? 'X' : 'Q';
+            String miss = new String(cs);
+            if (!dict.contains(miss)) misses.add(miss);
+        }
+        String[] hit = hits.toArray(new String[0]);
+        String[] miss = misses.toArray(new String[0]);
+        int[] next = new int[2];
+        bench("WordList.contains hit", () -> dict.contains(hit[next[0]++ % hit.length]) ? 1 : 0);
+        bench("WordList.contains miss", () -> dict.contains(miss[next[1]++ % miss.length]) ? 1 : 0);
+    }
+
+    private void validation() throws Exception {
+        MoveValidator validator = new MoveValidator(dict);
+        Board empty = Fixtures.board(dict, Fixtures.Size.S15x15, Fixtures.Fill.EMPTY, SEED);
+        Board mid = Fixtures.board(dict, Fixtures.Size.S15x15, Fixtures.Fill.MID, SEED);
+        Rack rack = Fixtures.rack(RACK);
+
+        Move first = new GreedyComputer(dict).chooseMove(empty, rack, true);
+        Move hit = new GreedyComputer(dict).chooseMove(mid, rack, false);
+        Move miss = misspelt(hit);
+        bench("MoveValidator.validate first move", () -> validator.validate(empty, rack, first, true).placements().size());
+        bench("MoveValidator.validate hit", () -> validator.validate(mid, rack, hit, false).placements().size());
+        bench("MoveValidator.validate miss", () -> {
+            try {
+                return validator.validate(mid, rack, miss, false).placements().size();
+            } catch (IllegalMoveException e) {
+                return -1;
+            }
+        });
+    }
+
+    /** The move with its word reversed, which for the rack's letters is not a legal move. */
+    private Move misspelt(Move m) {
+        String reversed = new StringBuilder(m.wordRaw()).reverse().toString();
+        if (reversed.equals(m.wordRaw()) || dict.contains(reversed.toUpperCase())) reversed = m.wordRaw() + "Q";
+        return Move.play(reversed, m.start(), m.direction());
+    }
+
+    private void scoring() throws Exception {
+        Scorer scorer = new Scorer();
+        for (Fixtures.Size size : Fixtures.Size.values()) {
+            Board board = Fixtures.board(dict, size, Fixtures.Fill.MID, SEED);
+            Rack rack = Fixtures.rack(RACK);
+            Move m = new GreedyComputer(dict).chooseMove(board, rack, false);
+            if (m.isPass()) continue;
+            ValidatedMove vm = new MoveValidator(dict).validate(board, rack, m, false);
+            new MoveApplier().apply(board, rack, vm); // the scorer reads the board after the move
+            bench("Scorer.scoreMove " + size.label() + " " + (m.direction() == Direction.RIGHT ? "across" : "down"),
+                    () -> scorer.scoreMove(board, vm).total());
+        }
+    }
+
+    private void boardLoading() throws Exception {
+        BoardLoader loader = new BoardLoader();
+        for (Fixtures.Size size : Fixtures.Size.values()) {
+            String text = Fixtures.boardText(size.cols, size.rows, SEED);
+            bench("BoardLoader.load " + size.label(), () -> loader.load(new StringReader(text)).cols());
+        }
+    }
+
+    private void bag() throws Exception {
+        List<Tile> tiles = TileBag.defaultTiles();
+        SplittableRandom rng = new SplittableRandom(SEED);
+        bench("TileBag fill and draw all by 7", () -> {
+            TileBag bag = new TileBag(tiles, rng.split());
+            long n = 0;
+            while (!bag.isEmpty()) n += bag.draw(7).size();
+            return n;
+        });
+        TileBag full = new TileBag(tiles, rng.split());
+        bench("TileBag copy and draw 7 indexes", () -> {
+            TileBag bag = full.copy(rng.split());
+            long n = 0;
+            for (int i = 0; i < 7; i++) n += bag.drawIndex();
+            return n;
+        });
+    }
+
+    private void simpleComputer() throws Exception {
+        for (Fixtures.Size size : Fixtures.Size.values()) {
+            for (Fixtures.Fill fill : Fixtures.Fill.values()) {
+                String name = "SimpleComputer.chooseMove " + size.label() + " " + fill.name().toLowerCase();
+                if (!name.contains(filter)) continue;
+                Board board = Fixtures.board(dict, size, fill, SEED);
+                Rack rack = Fixtures.rack(RACK);
+                SimpleComputer computer = new SimpleComputer(dict, new Random(SEED));
+                boolean first = fill == Fixtures.Fill.EMPTY;
+                bench(name, () -> computer.chooseMove(board, rack, first).wordRaw().length());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean quick = false;
+        Path save = null;
+        Path baseline = null;
+        String filter = "";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--quick" -> quick = true;
+                case "--save" -> save = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                default -> filter = args[i];
+            }
+        }
+
+        Harness harness = quick
+                ? new Harness(Duration.ofMillis(300), Duration.ofMillis(200), 5)
+                : new Harness(Duration.ofSeconds(2), Duration.ofSeconds(1), 10);
+        System.out.println("java " + Runtime.version() + ", " + Runtime.getRuntime().availableProcessors()
+                + " cpus, max heap " + Runtime.getRuntime().maxMemory() / (1 << 20) + " MiB");
+        WordList dict = WordList.fromResource("/wordlist.txt");
+        new CoreBenchmarks(dict, harness, filter).runAll();
+        System.out.println("(sink " + harness.sink() + ")");
+
+        if (baseline != null) compare(harness.results(), readMeans(baseline));
+        if (save != null) {
+            try (BufferedWriter w = Files.newBufferedWriter(save)) {
+                for (Harness.Result r : harness.results()) w.write(r.name() + "\t" + r.mean() + "\n");
+            }
+        }
+    }
+
+    private static Map<String, Double> readMeans(Path file) throws IOException {
+        Map<String, Double> means = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            int tab = line.lastIndexOf('\t');
+            if (tab > 0) means.put(line.substring(0, tab), Double.parseDouble(line.substring(tab + 1)));
+        }
+        return means;
+    }
+
+    private static void compare(List<Harness.Result> results, Map<String, Double> baseline) {
+        System.out.println();
+        System.out.println("Against the baseline (negative is faster):");
+        for (Harness.Result r : results) {
+            Double before = baseline.get(r.name());
+            if (before == null) continue;
+            System.out.printf("%-44s %12s -> %-12s %+6.1f%%%n", r.name(),
+                    Harness.Result.time(before), Harness.Result.time(r.mean()), 100 * (r.mean() - before) / before);
+        }
+    }
+}
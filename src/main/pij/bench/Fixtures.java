@@ -0,0 +1,145 @@
+package pij.bench;
+
+import pij.ai.GreedyComputer;
+import pij.board.Board;
+import pij.board.BoardLoader;
+import pij.board.InvalidBoardFileException;
+import pij.dict.WordList;
+import pij.game.IllegalMoveException;
+import pij.game.MoveApplier;
+import pij.game.MoveValidator;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible positions for benchmarks. Boards are generated as board-file text
+ * from a seed (so the loader can be measured on the same input) and filled by
+ * greedy self-play from seeded bags; the same seed always gives the same board.
+ */
+public final class Fixtures {
+
+    /** Board shapes measured by the suite, with the tile counts of their mid-game and dense positions. */
+    public enum Size {
+        S15x15(15, 15, 40, 110),
+        S26x99(26, 99, 60, 400);
+
+        public final int cols;
+        public final int rows;
+        final int midTiles;
+        final int denseTiles;
+
+        Size(int cols, int rows, int midTiles, int denseTiles) {
+            this.cols = cols;
+            this.rows = rows;
+            this.midTiles = midTiles;
+            this.denseTiles = denseTiles;
+        }
+
+        public String label() {
+            return cols + "x" + rows;
+        }
+    }
+
+    /** How full a fixture board is. */
+    public enum Fill { EMPTY, MID, DENSE }
+
+    private static final int RACK_SIZE = 7;
+    private static final int MAX_PASSES = 4;
+
+    private Fixtures() {}
+
+    /**
+     * Board file text with the start square in the middle and premium squares placed
+     * by the seed: about one square in twelve is a letter premium and one in
+     * twenty-five a word premium.
+     */
+    public static String boardText(int cols, int rows, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder();
+        sb.append(cols).append('\n').append(rows).append('\n');
+        sb.append((char) ('a' + cols / 2)).append(rows / 2 + 1).append('\n');
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int roll = rng.nextInt(100);
+                if (roll < 8) sb.append('[').append(2 + rng.nextInt(2)).append(']');
+                else if (roll < 12) sb.append('<').append(2 + rng.nextInt(2)).append('>');
+                else sb.append('.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** The board of {@link #boardText} for the size, filled as asked. */
+    public static Board board(WordList dict, Size size, Fill fill, long seed) {
+        Board b = load(boardText(size.cols, size.rows, seed));
+        return switch (fill) {
+            case EMPTY -> b;
+            case MID -> play(dict, b, size.midTiles, seed);
+            case DENSE -> play(dict, b, size.denseTiles, seed);
+        };
+    }
+
+    public static Board load(String text) {
+        try {
+            return new BoardLoader().load(new StringReader(text));
+        } catch (IOException | InvalidBoardFileException e) {
+            throw new IllegalStateException("fixture board is invalid", e);
+        }
+    }
+
+    /**
+     * Plays greedy moves for two players until the board holds at least the given
+     * number of tiles or nobody can move. Racks are kept full from seeded bags, a
+     * fresh bag being opened when one runs low, so boards larger than one bag fill up.
+     */
+    public static Board play(WordList dict, Board board, int tiles, long seed) {
+        GreedyComputer player = new GreedyComputer(dict);
+        MoveValidator validator = new MoveValidator(dict);
+        MoveApplier applier = new MoveApplier();
+        Random rng = new Random(seed);
+        TileBag bag = new TileBag(TileBag.defaultTiles(), rng);
+        Rack[] racks = {new Rack(), new Rack()};
+
+        int passes = 0;
+        for (int turn = 0; board.tileCount() < tiles && passes < MAX_PASSES; turn++) {
+            Rack rack = racks[turn & 1];
+            if (bag.size() < RACK_SIZE) bag = new TileBag(TileBag.defaultTiles(), rng);
+            bag.refillRack(rack, RACK_SIZE);
+            boolean first = board.isEmpty();
+            Move m = player.chooseMove(board, rack, first);
+            if (m.isPass()) {
+                passes++;
+                continue;
+            }
+            passes = 0;
+            try {
+                applier.apply(board, rack, validator.validate(board, rack, m, first));
+            } catch (IllegalMoveException e) {
+                throw new IllegalStateException("greedy move rejected: " + e.getMessage(), e);
+            }
+        }
+        return board;
+    }
+
+    /** Rack of the given upper-case letters with default tile values; '_' is a wildcard. */
+    public static Rack rack(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) r.add(ch == '_' ? Tile.wildcard() : Tile.normal(ch, value(ch)));
+        return r;
+    }
+
+    private static int value(char letter) {
+        for (Tile t : TileBag.defaultTiles()) {
+            if (!t.isWildcard() && t.letter() == letter) return t.value();
+        }
+        throw new IllegalArgumentException("no tile for letter " + letter);
+    }
+}
@@ -0,0 +1,113 @@
+package pij.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal micro-benchmark runner. Each case is warmed up for a fixed time, which
+ * also estimates its cost; the operation is then run in batches sized to take
+ * about one iteration time each, and every batch gives one ns/op sample. Results
+ * of the operation are folded into a sink that is published at the end, so the
+ * JIT cannot drop the work as dead code.
+ *
+ * Runs on the calling thread; cases are measured one after the other.
+ */
+public final class Harness {
+
+    /** One benchmarked operation; the returned value is consumed by the harness. */
+    @FunctionalInterface
+    public interface Op {
+        long run() throws Exception;
+    }
+
+    private final long warmupNanos;
+    private final long iterationNanos;
+    private final int iterations;
+    private final List<Result> results = new ArrayList<>();
+    private long sink;
+
+    /**
+     * @param warmup     time each case runs before measuring
+     * @param iteration  target time of one measured batch
+     * @param iterations measured batches per case
+     */
+    public Harness(Duration warmup, Duration iteration, int iterations) {
+        if (iterations < 2) throw new IllegalArgumentException("iterations must be >= 2");
+        this.warmupNanos = warmup.toNanos();
+        this.iterationNanos = iteration.toNanos();
+        this.iterations = iterations;
+    }
+
+    /** Measures one case and keeps its result. */
+    public Result run(String name, Op op) throws Exception {
+        long calls = 0;
+        long begin = System.nanoTime();
+        long elapsed;
+        do {
+            sink += op.run();
+            calls++;
+            elapsed = System.nanoTime() - begin;
+        } while (elapsed < warmupNanos);
+        long batch = Math.max(1, (long) (iterationNanos / ((double) elapsed / calls)));
+
+        double[] samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            for (long j = 0; j < batch; j++) sink += op.run();
+            samples[i] = (double) (System.nanoTime() - t0) / batch;
+        }
+        Result r = Result.of(name, batch, samples);
+        results.add(r);
+        return r;
+    }
+
+    public List<Result> results() {
+        return List.copyOf(results);
+    }
+
+    /** Folded results of every operation run; print it so that none of them is dead code. */
+    public long sink() {
+        return sink;
+    }
+
+    /**
+     * Measurements of one case.
+     *
+     * @param samples number of measured batches
+     * @param batch   operations per batch
+     * @param mean    mean ns/op over the batches
+     * @param error   half-width of a 99% confidence interval for the mean (normal approximation), in ns/op
+     * @param min     fastest batch, in ns/op
+     */
+    public record Result(String name, int samples, long batch, double mean, double error, double min) {
+
+        static Result of(String name, long batch, double[] samples) {
+            int n = samples.length;
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            for (double s : samples) {
+                sum += s;
+                min = Math.min(min, s);
+            }
+            double mean = sum / n;
+            double sq = 0;
+            for (double s : samples) sq += (s - mean) * (s - mean);
+            double stdev = Math.sqrt(sq / (n - 1));
+            return new Result(name, n, batch, mean, 2.576 * stdev / Math.sqrt(n), min);
+        }
+
+        /** One line: name, mean +- error, min and batch size, with times in readable units. */
+        public String format() {
+            return String.format("%-44s %12s +- %-10s min %-10s (%d x %d ops)",
+                    name, time(mean), time(error), time(min), samples, batch);
+        }
+
+        static String time(double nanos) {
+            if (nanos >= 1e9) return String.format("%.3f s", nanos / 1e9);
+            if (nanos >= 1e6) return String.format("%.3f ms", nanos / 1e6);
+            if (nanos >= 1e3) return String.format("%.3f us", nanos / 1e3);
+            return String.format("%.1f ns", nanos);
+        }
+    }
+}
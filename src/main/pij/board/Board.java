@@ -1,45 +1,278 @@
 package pij.board;
 
 import pij.tiles.Tile;
+import pij.tiles.Zobrist;
 
 /**
- * Immutable representation of the game board.
+ * Representation of the game board.
  * Stores board dimensions, start square, and cell layout.
+ *
+ * Squares are packed row-major into primitive arrays (index = row * cols + col):
+ * placed letters, tile values, premium type and factor. Occupancy is also kept as
+ * bitsets per row and per column, so line scans ("where does the word through
+ * this square start?") are a few bit operations instead of walks over objects.
+ * The {@link Tile} objects are kept alongside for callers that need them.
  */
-
 public final class Board {
+    private static final CellType[] TYPES = CellType.values();
+
     private final int mCols;
     private final int nRows;
     private final Square startSquare;
-    private final Cell[][] cells; //  [row][col]
+
+    private final byte[] premiumType; // CellType ordinal
+    private final byte[] factors;
+    private final byte[] letters;     // 0 = empty, upper case = tile, lower case = wildcard
+    private final int[] values;
+    private final Tile[] tiles;
+    private final long[] rowBits;     // bit col set if (row, col) is occupied
+    private final long[] colBits;     // two words per column: rows 0-63 and 64-127
+    private int tileCount;
+    private long zobrist;             // XOR of the keys of all placed tiles
 
     public Board(int mCols, int nRows, Square startSquare, Cell[][] cells) {
+        this(mCols, nRows, startSquare, types(cells, mCols, nRows), factors(cells, mCols, nRows));
+    }
+
+    /**
+     * Board over a premium layout that is already packed row-major: CellType ordinals
+     * and factors. The arrays are used as they are, not copied.
+     */
+    Board(int mCols, int nRows, Square startSquare, byte[] premiumType, byte[] factors) {
+        if (mCols > 63 || nRows > 127) throw new IllegalArgumentException("board too large");
+        int n = mCols * nRows;
+        if (premiumType.length != n || factors.length != n) throw new IllegalArgumentException("layout size mismatch");
         this.mCols = mCols;
         this.nRows = nRows;
         this.startSquare = startSquare;
-        this.cells = cells;
+        this.premiumType = premiumType;
+        this.factors = factors;
+        this.letters = new byte[n];
+        this.values = new int[n];
+        this.tiles = new Tile[n];
+        this.rowBits = new long[nRows];
+        this.colBits = new long[2 * mCols];
+    }
+
+    private static byte[] types(Cell[][] cells, int mCols, int nRows) {
+        byte[] out = new byte[mCols * nRows];
+        for (int r = 0; r < nRows; r++) {
+            for (int c = 0; c < mCols; c++) out[r * mCols + c] = (byte) cells[r][c].type().ordinal();
+        }
+        return out;
+    }
+
+    private static byte[] factors(Cell[][] cells, int mCols, int nRows) {
+        byte[] out = new byte[mCols * nRows];
+        for (int r = 0; r < nRows; r++) {
+            for (int c = 0; c < mCols; c++) out[r * mCols + c] = (byte) cells[r][c].factor();
+        }
+        return out;
+    }
+
+    /** Copy for lookahead: the premium layout is shared, square contents are copied. */
+    private Board(Board other) {
+        this.mCols = other.mCols;
+        this.nRows = other.nRows;
+        this.startSquare = other.startSquare;
+        this.premiumType = other.premiumType;
+        this.factors = other.factors;
+        this.letters = other.letters.clone();
+        this.values = other.values.clone();
+        this.tiles = other.tiles.clone();
+        this.rowBits = other.rowBits.clone();
+        this.colBits = other.colBits.clone();
+        this.tileCount = other.tileCount;
+        this.zobrist = other.zobrist;
+    }
+
+    /**
+     * Independent copy of this board. Only the per-square arrays are copied (the
+     * premium arrays never change), so forking is a handful of array clones.
+     * Tile objects are shared with the original.
+     */
+    public Board fork() {
+        return new Board(this);
     }
 
     public int cols() { return mCols; }
     public int rows() { return nRows; }
     public Square startSquare() { return startSquare; }
 
+    /** Premium layout of a square; instances are shared, so this does not allocate. */
     public Cell cellAt(int row, int col) {
-        return cells[row][col];
+        int i = row * mCols + col;
+        return Cell.of(TYPES[premiumType[i]], factors[i]);
     }
     public boolean inBounds(int row, int col) {
         return row >= 0 && row < nRows && col >= 0 && col < mCols;
     }
 
     public boolean isEmptyAt(int row, int col) {
-        return cellAt(row, col).isEmpty();
+        return (rowBits[row] & (1L << col)) == 0;
     }
 
     public Tile tileAt(int row, int col) {
-        return cellAt(row, col).tile();
+        return tiles[row * mCols + col];
+    }
+
+    /** Upper-case letter shown on the square (a wildcard's chosen letter), or 0 if empty. */
+    public char letterAt(int row, int col) {
+        int b = letters[row * mCols + col];
+        return (char) (b >= 'a' ? b - ('a' - 'A') : b);
+    }
+
+    public boolean isWildcardAt(int row, int col) {
+        return letters[row * mCols + col] >= 'a';
+    }
+
+    /** Face value of the tile on the square, or 0 if empty. */
+    public int valueAt(int row, int col) {
+        return values[row * mCols + col];
+    }
+
+    public CellType typeAt(int row, int col) {
+        return TYPES[premiumType[row * mCols + col]];
+    }
+
+    public int factorAt(int row, int col) {
+        return factors[row * mCols + col];
     }
 
+    public int tileCount() { return tileCount; }
+
+    public boolean isEmpty() { return tileCount == 0; }
+
+    /**
+     * Zobrist key of the placed tiles (square, letter, wildcard or not); 0 for an empty
+     * board. Boards of the same size holding the same tiles have the same key.
+     */
+    public long zobrist() { return zobrist; }
+
     public void placeTile(int row, int col, Tile tile) {
-        cellAt(row, col).place(tile);
+        if (tile == null) throw new IllegalArgumentException("tile is null");
+        if (!isEmptyAt(row, col)) throw new IllegalStateException("cell already occupied");
+
+        int i = row * mCols + col;
+        char shown = tile.isWildcard() ? tile.displayChar() : tile.letter();
+        letters[i] = (byte) shown;
+        values[i] = tile.value();
+        tiles[i] = tile;
+        rowBits[row] |= 1L << col;
+        colBits[2 * col + (row >> 6)] |= 1L << (row & 63);
+        tileCount++;
+        zobrist ^= Zobrist.square(i, Character.toUpperCase(shown), tile.isWildcard());
+    }
+
+    /**
+     * Takes the tile off a square, leaving it empty. Used to take back moves during search.
+     *
+     * @return the removed tile
+     */
+    public Tile removeTile(int row, int col) {
+        if (isEmptyAt(row, col)) throw new IllegalStateException("cell is empty");
+
+        int i = row * mCols + col;
+        Tile tile = tiles[i];
+        zobrist ^= Zobrist.square(i, letterAt(row, col), isWildcardAt(row, col));
+        letters[i] = 0;
+        values[i] = 0;
+        tiles[i] = null;
+        rowBits[row] &= ~(1L << col);
+        colBits[2 * col + (row >> 6)] &= ~(1L << (row & 63));
+        tileCount--;
+        return tile;
+    }
+
+    /** Occupied columns of a row as a bitset (bit c = column c). */
+    public long rowOccupancy(int row) {
+        return rowBits[row];
+    }
+
+    /**
+     * True if a tile at (row, col) would touch a tile across a line in direction dir,
+     * i.e. above/below for RIGHT or left/right for DOWN.
+     */
+    public boolean touchesAcross(int row, int col, Direction dir) {
+        if (dir == Direction.RIGHT) {
+            return (row > 0 && !isEmptyAt(row - 1, col)) || (row + 1 < nRows && !isEmptyAt(row + 1, col));
+        }
+        long around = (col > 0 ? 1L << (col - 1) : 0) | (col + 1 < mCols ? 1L << (col + 1) : 0);
+        return (rowBits[row] & around) != 0;
+    }
+
+    /** Number of squares in a row (RIGHT) or column (DOWN). */
+    public int lineLength(Direction dir) {
+        return dir == Direction.RIGHT ? mCols : nRows;
+    }
+
+    /** True if no tile lies in the given row (RIGHT) or column (DOWN). */
+    public boolean isLineEmpty(Direction dir, int line) {
+        if (dir == Direction.RIGHT) return rowBits[line] == 0;
+        return (colBits[2 * line] | colBits[2 * line + 1]) == 0;
+    }
+
+    /** Position of the first occupied square of a line, or -1 if the line is empty. */
+    public int firstOccupied(Direction dir, int line) {
+        if (dir == Direction.RIGHT) {
+            long b = rowBits[line];
+            return b == 0 ? -1 : Long.numberOfTrailingZeros(b);
+        }
+        long lo = colBits[2 * line];
+        long hi = colBits[2 * line + 1];
+        if (lo != 0) return Long.numberOfTrailingZeros(lo);
+        return hi == 0 ? -1 : 64 + Long.numberOfTrailingZeros(hi);
+    }
+
+    /** Position of the last occupied square of a line, or -1 if the line is empty. */
+    public int lastOccupied(Direction dir, int line) {
+        if (dir == Direction.RIGHT) {
+            long b = rowBits[line];
+            return b == 0 ? -1 : 63 - Long.numberOfLeadingZeros(b);
+        }
+        long lo = colBits[2 * line];
+        long hi = colBits[2 * line + 1];
+        if (hi != 0) return 127 - Long.numberOfLeadingZeros(hi);
+        return lo == 0 ? -1 : 63 - Long.numberOfLeadingZeros(lo);
+    }
+
+    /**
+     * Nearest empty square strictly before position pos of a line, or -1 if every
+     * square before it is occupied. The run of tiles ending at pos - 1 starts right after it.
+     */
+    public int emptyBefore(Direction dir, int line, int pos) {
+        if (pos <= 0) return -1;
+        if (dir == Direction.RIGHT) {
+            long free = ~rowBits[line] & ((1L << pos) - 1);
+            return free == 0 ? -1 : 63 - Long.numberOfLeadingZeros(free);
+        }
+        long freeHi = pos > 64 ? ~colBits[2 * line + 1] & ((1L << (pos - 64)) - 1) : 0;
+        if (freeHi != 0) return 127 - Long.numberOfLeadingZeros(freeHi);
+        long freeLo = ~colBits[2 * line] & (pos >= 64 ? -1L : (1L << pos) - 1);
+        return freeLo == 0 ? -1 : 63 - Long.numberOfLeadingZeros(freeLo);
+    }
+
+    /**
+     * Nearest empty square strictly after position pos of a line, or the line length
+     * if every square after it is occupied.
+     */
+    public int emptyAfter(Direction dir, int line, int pos) {
+        int length = lineLength(dir);
+        if (pos + 1 >= length) return length;
+        int found;
+        if (dir == Direction.RIGHT) {
+            long free = ~rowBits[line] & (-1L << (pos + 1));
+            found = free == 0 ? 64 : Long.numberOfTrailingZeros(free);
+        } else {
+            int from = pos + 1;
+            long freeLo = from < 64 ? ~colBits[2 * line] & (-1L << from) : 0;
+            if (freeLo != 0) {
+                found = Long.numberOfTrailingZeros(freeLo);
+            } else {
+                long freeHi = ~colBits[2 * line + 1] & (from > 64 ? -1L << (from - 64) : -1L);
+                found = 64 + Long.numberOfTrailingZeros(freeHi);
+            }
+        }
+        return Math.min(found, length);
     }
 }
@@ -2,22 +2,29 @@ package pij.board;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Loads a game board from a text file as specified in the coursework.
  * Validates board dimensions, start square, and premium cell tokens.
  * Throws InvalidBoardFileException if the file violates any constraints.
+ *
+ * Rows are read line by line and scanned once, character by character, straight
+ * into the packed premium layout of {@link Board}; no token strings or cells are
+ * created. Tokens may be packed as in the specification ({@code [3]<-3>..[2]}) or
+ * separated by blanks ({@code [3] <-3> . . [2]}). Errors name the line and column.
  */
 
 public final class BoardLoader {
 
-    private static final Pattern LETTER = Pattern.compile("^\\[(-?\\d{1,2})\\]$");
-    private static final Pattern WORD   = Pattern.compile("^<(-?\\d{1,2})>$");
+    private static final byte NORMAL = (byte) CellType.NORMAL.ordinal();
+    private static final byte LETTER = (byte) CellType.LETTER_PREMIUM.ordinal();
+    private static final byte WORD = (byte) CellType.WORD_PREMIUM.ordinal();
 
     public Board load(Path file) throws IOException, InvalidBoardFileException {
         try (BufferedReader br = Files.newBufferedReader(file)) {
@@ -25,13 +32,22 @@ public final class BoardLoader {
         }
     }
 
+    /** Loads a board from a classpath resource (e.g., "/defaultBoard.txt"). */
+    public Board loadResource(String resourcePath) throws IOException, InvalidBoardFileException {
+        InputStream in = BoardLoader.class.getResourceAsStream(resourcePath);
+        if (in == null) throw new IOException("Resource not found: " + resourcePath);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
     public Board load(Reader reader) throws IOException, InvalidBoardFileException {
         BufferedReader br = (reader instanceof BufferedReader)
                 ? (BufferedReader) reader
                 : new BufferedReader(reader);
 
-        int m = parseIntLine(br, "M");
-        int n = parseIntLine(br, "N");
+        int m = parseIntLine(br, "M", 1);
+        int n = parseIntLine(br, "N", 2);
 
         // constraints
         if (m < 7 || m > 26) throw new InvalidBoardFileException("M out of range: " + m);
@@ -47,56 +63,81 @@ public final class BoardLoader {
             throw new InvalidBoardFileException("Invalid start square: " + startLine, e);
         }
 
-        Cell[][] cells = new Cell[n][m];
-
+        byte[] types = new byte[m * n];
+        byte[] factors = new byte[m * n];
         for (int row = 0; row < n; row++) {
             String line = br.readLine();
             if (line == null) throw new InvalidBoardFileException("Missing board row: " + (row + 1));
-
-            String[] tokens = line.trim().isEmpty() ? new String[0] : line.trim().split("\\s+");
-            if (tokens.length != m) {
-                throw new InvalidBoardFileException("Row " + (row + 1) + " has " + tokens.length + " tokens; expected " + m);
-            }
-
-            for (int col = 0; col < m; col++) {
-                cells[row][col] = parseCell(tokens[col]);
-            }
+            parseRow(line, row + 4, row * m, m, types, factors);
         }
 
-        return new Board(m, n, start, cells);
+        return new Board(m, n, start, types, factors);
     }
 
-    private static int parseIntLine(BufferedReader br, String name) throws IOException, InvalidBoardFileException {
+    private static int parseIntLine(BufferedReader br, String name, int lineNo)
+            throws IOException, InvalidBoardFileException {
         String s = br.readLine();
         if (s == null) throw new InvalidBoardFileException("Missing " + name);
         try {
             return Integer.parseInt(s.trim());
         } catch (NumberFormatException e) {
-            throw new InvalidBoardFileException("Invalid " + name + ": " + s, e);
+            throw new InvalidBoardFileException("Line " + lineNo + ": invalid " + name + ": " + s, e);
         }
     }
 
-    private static Cell parseCell(String token) throws InvalidBoardFileException {
-        if (token.equals(".")) return Cell.normal();
-
-        Matcher ml = LETTER.matcher(token);
-        if (ml.matches()) {
-            int factor = Integer.parseInt(ml.group(1));
-            checkFactor(factor);
-            return Cell.letter(factor);
+    /** Scans one row of exactly m tokens into the layout arrays from index base. */
+    private static void parseRow(String line, int lineNo, int base, int m, byte[] types, byte[] factors)
+            throws InvalidBoardFileException {
+        int len = line.length();
+        int pos = 0;
+        int col = 0;
+        while (true) {
+            while (pos < len && isBlank(line.charAt(pos))) pos++;
+            if (pos == len) break;
+            if (col == m) throw error(lineNo, pos, "more than " + m + " squares in row");
+
+            char open = line.charAt(pos);
+            if (open == '.') {
+                types[base + col] = NORMAL;
+                factors[base + col] = 1;
+                pos++;
+                col++;
+                continue;
+            }
+            char close;
+            if (open == '[') close = ']';
+            else if (open == '<') close = '>';
+            else throw error(lineNo, pos, "invalid token '" + open + "'");
+
+            int p = pos + 1;
+            boolean negative = p < len && line.charAt(p) == '-';
+            if (negative) p++;
+            int digits = 0;
+            int value = 0;
+            while (p < len && digits < 3 && line.charAt(p) >= '0' && line.charAt(p) <= '9') {
+                value = value * 10 + (line.charAt(p++) - '0');
+                digits++;
+            }
+            if (digits == 0 || digits > 2) throw error(lineNo, pos, "factor must have one or two digits");
+            if (p == len || line.charAt(p) != close) throw error(lineNo, p, "expected '" + close + "'");
+            int factor = negative ? -value : value;
+            if (factor < -9 || factor > 99) throw error(lineNo, pos, "factor out of range: " + factor);
+
+            types[base + col] = open == '[' ? LETTER : WORD;
+            factors[base + col] = (byte) factor;
+            pos = p + 1;
+            col++;
         }
-
-        Matcher mw = WORD.matcher(token);
-        if (mw.matches()) {
-            int factor = Integer.parseInt(mw.group(1));
-            checkFactor(factor);
-            return Cell.word(factor);
+        if (col != m) {
+            throw new InvalidBoardFileException("Line " + lineNo + ": row has " + col + " squares; expected " + m);
         }
+    }
 
-        throw new InvalidBoardFileException("Invalid token: " + token);
+    private static boolean isBlank(char ch) {
+        return ch == ' ' || ch == '\t';
     }
 
-    private static void checkFactor(int factor) throws InvalidBoardFileException {
-        if (factor < -9 || factor > 99) throw new InvalidBoardFileException("Factor out of range: " + factor);
+    private static InvalidBoardFileException error(int lineNo, int index, String what) {
+        return new InvalidBoardFileException("Line " + lineNo + ", column " + (index + 1) + ": " + what);
     }
-}
\ No newline at end of file
+}
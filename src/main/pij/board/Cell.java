@@ -1,17 +1,23 @@
 package pij.board;
 
-import pij.tiles.Tile;
-
 /**
- * Represents a single board cell.
+ * Represents the premium layout of a single board cell.
  * Premium factors apply only when a tile is placed on this cell.
+ * Tiles placed on the cell are tracked by {@link Board}, so cells are immutable
+ * and can be shared between boards.
  */
 public final class Cell {
+    private static final Cell[][] SHARED = new Cell[CellType.values().length][256]; // factors -128..127
+
+    static {
+        for (CellType t : CellType.values()) {
+            for (int f = -128; f < 128; f++) SHARED[t.ordinal()][f + 128] = new Cell(t, f);
+        }
+    }
+
     private final CellType type;
     private final int factor;
 
-    private Tile tile; // null means empty
-
     public Cell(CellType type, int factor) {
         this.type = type;
         this.factor = factor;
@@ -20,24 +26,13 @@ public final class Cell {
     public CellType type() { return type; }
     public int factor() { return factor; }
 
-    // ===== 新增方法 =====
-
-    public boolean isEmpty() {
-        return tile == null;
-    }
-
-    public Tile tile() {
-        return tile;
-    }
-
-    public void place(Tile tile) {
-        if (tile == null) throw new IllegalArgumentException("tile is null");
-        if (this.tile != null) throw new IllegalStateException("cell already occupied");
-        this.tile = tile;
-    }
-
     // 工厂方法保持不变
     public static Cell normal() { return new Cell(CellType.NORMAL, 1); }
     public static Cell letter(int factor) { return new Cell(CellType.LETTER_PREMIUM, factor); }
     public static Cell word(int factor) { return new Cell(CellType.WORD_PREMIUM, factor); }
-}
\ No newline at end of file
+
+    /** Shared instance for a type and a factor that fits in a byte, as stored by {@link Board}. */
+    static Cell of(CellType type, int factor) {
+        return SHARED[type.ordinal()][factor + 128];
+    }
+}
@@ -1,7 +1,5 @@
 package pij.board;
 
-import java.util.Objects;
-
 /**
  * Represents a board coordinate using zero-based row and column indices.
  */
@@ -46,7 +44,7 @@ public final class Square {
         Square square = (Square) o;
         return row == square.row && col == square.col;
     }
-    @Override public int hashCode() { return Objects.hash(row, col); }
+    @Override public int hashCode() { return 31 * row + col; }
 
     @Override public String toString() {
         return "" + (char)('a' + col) + (row + 1);
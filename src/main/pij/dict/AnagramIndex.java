@@ -0,0 +1,174 @@
+package pij.dict;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of short dictionary words by their sorted-letter signature, answering
+ * "which words can this rack spell on its own?" with one lookup per sub-multiset
+ * of the rack instead of a pass over the whole dictionary.
+ *
+ * Results are spellings in move syntax: upper case for real tiles and lower case
+ * for letters played with a wildcard. A bounded LRU cache keyed by the rack
+ * multiset makes repeated racks (for example after passes) free.
+ */
+public final class AnagramIndex {
+
+    /** Longest word indexed; a rack never holds more tiles than this. */
+    public static final int MAX_LENGTH = 7;
+
+    private static final int CACHE_SIZE = 256;
+
+    private final Map<Long, String[]> bySignature = new HashMap<>();
+
+    private final Map<String, List<String>> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    AnagramIndex(Iterable<String> words) {
+        Map<Long, List<String>> groups = new HashMap<>();
+        for (String w : words) {
+            if (w.length() < 2 || w.length() > MAX_LENGTH) continue;
+            groups.computeIfAbsent(signature(w), k -> new ArrayList<>(1)).add(w);
+        }
+        for (Map.Entry<Long, List<String>> e : groups.entrySet()) {
+            bySignature.put(e.getKey(), e.getValue().toArray(new String[0]));
+        }
+    }
+
+    /** Number of distinct signatures. */
+    public int signatures() {
+        return bySignature.size();
+    }
+
+    /** Words (upper case) whose letters are exactly the given letters in any order. */
+    public List<String> anagramsOf(String letters) {
+        String[] ws = letters.length() > MAX_LENGTH ? null : bySignature.get(signature(letters));
+        return ws == null ? List.of() : List.of(ws);
+    }
+
+    /**
+     * All spellings of words of length 2 or more that the tiles can form on their own.
+     *
+     * @param counts    number of real tiles per letter, indexed 0 ('A') to 25 ('Z'); not modified
+     * @param wildcards number of wildcard tiles
+     * @return unmodifiable list; upper case = real tile, lower case = wildcard
+     */
+    public List<String> feasibleWords(int[] counts, int wildcards) {
+        String key = rackKey(counts, wildcards);
+        synchronized (cache) {
+            List<String> hit = cache.get(key);
+            if (hit != null) return hit;
+        }
+
+        List<String> out = new ArrayList<>();
+        new SubsetWalk(counts, wildcards, out).run();
+        List<String> result = Collections.unmodifiableList(out);
+
+        synchronized (cache) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Enumerates each sub-multiset of real letters plus each multiset of wildcard
+     * letters (wildcard letters in non-decreasing order, so every multiset is seen once).
+     */
+    private final class SubsetWalk {
+        private final int[] available;
+        private final int wildcards;
+        private final List<String> out;
+        private final int[] real = new int[26];
+        private final int[] wild = new int[26];
+
+        SubsetWalk(int[] counts, int wildcards, List<String> out) {
+            this.available = counts;
+            this.wildcards = wildcards;
+            this.out = out;
+        }
+
+        void run() {
+            chooseReal(0, 0);
+        }
+
+        private void chooseReal(int letter, int size) {
+            if (letter == 26) {
+                chooseWild(0, 0, size);
+                return;
+            }
+            for (int k = 0; k <= available[letter] && size + k <= MAX_LENGTH; k++) {
+                real[letter] = k;
+                chooseReal(letter + 1, size + k);
+            }
+            real[letter] = 0;
+        }
+
+        private void chooseWild(int from, int used, int size) {
+            if (size >= 2) emit();
+            if (used == wildcards || size == MAX_LENGTH) return;
+            for (int l = from; l < 26; l++) {
+                wild[l]++;
+                chooseWild(l, used + 1, size + 1);
+                wild[l]--;
+            }
+        }
+
+        private void emit() {
+            long sig = 0;
+            for (int l = 0; l < 26; l++) {
+                for (int k = real[l] + wild[l]; k > 0; k--) sig = (sig << 5) | (l + 1);
+            }
+            String[] ws = bySignature.get(sig);
+            if (ws == null) return;
+            for (String w : ws) spell(w, 0, new char[w.length()], real.clone(), wild.clone());
+        }
+
+        /** Every way of assigning the chosen real and wildcard tiles to the letters of w. */
+        private void spell(String w, int i, char[] buf, int[] realLeft, int[] wildLeft) {
+            if (i == w.length()) {
+                out.add(new String(buf));
+                return;
+            }
+            int l = w.charAt(i) - 'A';
+            if (realLeft[l] > 0) {
+                realLeft[l]--;
+                buf[i] = (char) ('A' + l);
+                spell(w, i + 1, buf, realLeft, wildLeft);
+                realLeft[l]++;
+            }
+            if (wildLeft[l] > 0) {
+                wildLeft[l]--;
+                buf[i] = (char) ('a' + l);
+                spell(w, i + 1, buf, realLeft, wildLeft);
+                wildLeft[l]++;
+            }
+        }
+    }
+
+    /** Letters sorted and packed five bits each, so anagrams share one key. */
+    private static long signature(String upper) {
+        char[] cs = upper.toCharArray();
+        Arrays.sort(cs);
+        long sig = 0;
+        for (char c : cs) sig = (sig << 5) | (c - 'A' + 1);
+        return sig;
+    }
+
+    private static String rackKey(int[] counts, int wildcards) {
+        StringBuilder sb = new StringBuilder(MAX_LENGTH + 1);
+        for (int l = 0; l < 26; l++) {
+            for (int k = 0; k < counts[l]; k++) sb.append((char) ('A' + l));
+        }
+        for (int k = 0; k < wildcards; k++) sb.append('_');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package pij.dict;
+
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Minimized directed acyclic word graph over upper-case words A-Z.
+ *
+ * The graph is packed into a single int buffer of edges. A node is the index of its
+ * first outgoing edge; the edges of a node are contiguous and sorted by letter.
+ * Each edge int holds:
+ * <pre>
+ *   bits 0-4   letter index (0 = 'A' .. 25 = 'Z')
+ *   bit  5     the path up to and including this edge spells a word
+ *   bit  6     last edge of its node
+ *   bits 7-30  target node (NO_CHILDREN if the target has no outgoing edges)
+ * </pre>
+ * Walkers keep the current node as a plain int, so prefix search allocates nothing.
+ * The buffer is either a heap array (built in memory) or a read-only mapping of a
+ * compiled image file (see {@link DawgImage}).
+ */
+public final class Dawg {
+
+    /** Node index of a node without outgoing edges. Index 0 of the edge array is never used. */
+    public static final int NO_CHILDREN = 0;
+
+    /** Returned by {@link #edge(int, int)} if the node has no edge for the letter. */
+    public static final int NO_EDGE = -1;
+
+    static final int LETTER_MASK = 0x1F;
+    static final int END_OF_WORD = 1 << 5;
+    static final int LAST_EDGE = 1 << 6;
+    static final int TARGET_SHIFT = 7;
+    static final int MAX_TARGET = (1 << 24) - 1;
+
+    private final IntBuffer edges;
+    private final int root;
+    private final int wordCount;
+
+    Dawg(IntBuffer edges, int root, int wordCount) {
+        this.edges = edges;
+        this.root = root;
+        this.wordCount = wordCount;
+    }
+
+    /** Builds a graph from upper-case words that are sorted and free of duplicates. */
+    public static Dawg build(Iterable<String> sortedWords) {
+        return new DawgBuilder().build(sortedWords);
+    }
+
+    public int root() { return root; }
+
+    public int size() { return wordCount; }
+
+    /** Number of packed edges, a measure of the resident footprint (4 bytes each). */
+    public int edgeCount() { return edges.limit() - 1; }
+
+    /** Packed edges, including the unused slot 0. Read-only for image-backed graphs. */
+    IntBuffer edges() { return edges.duplicate(); }
+
+    /**
+     * Returns the packed edge leaving node for the letter index (0..25), or NO_EDGE.
+     */
+    public int edge(int node, int letterIndex) {
+        if (node == NO_CHILDREN) return NO_EDGE;
+        for (int i = node; ; i++) {
+            int e = edges.get(i);
+            int l = e & LETTER_MASK;
+            if (l == letterIndex) return e;
+            if (l > letterIndex || (e & LAST_EDGE) != 0) return NO_EDGE;
+        }
+    }
+
+    /** Node reached by following the edge. */
+    public static int target(int edge) { return edge >>> TARGET_SHIFT; }
+
+    /** True if the path ending with this edge spells a dictionary word. */
+    public static boolean endsWord(int edge) { return (edge & END_OF_WORD) != 0; }
+
+    /** Bit i is set iff the node has an edge for letter 'A' + i. */
+    public int successorMask(int node) {
+        if (node == NO_CHILDREN) return 0;
+        int mask = 0;
+        for (int i = node; ; i++) {
+            int e = edges.get(i);
+            mask |= 1 << (e & LETTER_MASK);
+            if ((e & LAST_EDGE) != 0) return mask;
+        }
+    }
+
+    /**
+     * Follows the upper-case letters of s from the root.
+     * Returns the last edge taken, or NO_EDGE if s is empty or leaves the graph.
+     */
+    public int walk(CharSequence s) {
+        int node = root;
+        int e = NO_EDGE;
+        for (int i = 0; i < s.length(); i++) {
+            int idx = s.charAt(i) - 'A';
+            if (idx < 0 || idx >= 26) return NO_EDGE;
+            e = edge(node, idx);
+            if (e == NO_EDGE) return NO_EDGE;
+            node = target(e);
+        }
+        return e;
+    }
+
+    /** Exact lookup of an upper-case word. */
+    public boolean contains(CharSequence word) {
+        int e = walk(word);
+        return e != NO_EDGE && endsWord(e);
+    }
+
+    /** Exact lookup of an upper-case word held in part of a char array. */
+    public boolean contains(char[] chars, int offset, int length) {
+        if (length == 0) return false;
+        int node = root;
+        int e = NO_EDGE;
+        for (int i = offset; i < offset + length; i++) {
+            int idx = chars[i] - 'A';
+            if (idx < 0 || idx >= 26) return false;
+            e = edge(node, idx);
+            if (e == NO_EDGE) return false;
+            node = target(e);
+        }
+        return endsWord(e);
+    }
+
+    /** Enumerates all words in alphabetical order without materializing them up front. */
+    public Iterator<String> iterator() {
+        return new WordIterator();
+    }
+
+    private final class WordIterator implements Iterator<String> {
+        private final Deque<Integer> stack = new ArrayDeque<>(); // edge positions on the current path
+        private final StringBuilder sb = new StringBuilder();
+        private String next;
+
+        WordIterator() {
+            if (root != NO_CHILDREN) stack.push(root);
+            advance();
+        }
+
+        /** Depth-first pre-order: visit edge, then its children, then its next sibling. */
+        private void advance() {
+            next = null;
+            while (next == null && !stack.isEmpty()) {
+                int pos = stack.peek();
+                int e = edges.get(pos);
+                if (sb.length() == stack.size()) {
+                    // returning from the subtree below pos: move to the next sibling
+                    sb.setLength(sb.length() - 1);
+                    stack.pop();
+                    if ((e & LAST_EDGE) == 0) stack.push(pos + 1);
+                    continue;
+                }
+                sb.append((char) ('A' + (e & LETTER_MASK)));
+                if (endsWord(e)) next = sb.toString();
+                if (target(e) != NO_CHILDREN) stack.push(target(e));
+            }
+        }
+
+        @Override public boolean hasNext() { return next != null; }
+
+        @Override public String next() {
+            if (next == null) throw new NoSuchElementException();
+            String w = next;
+            advance();
+            return w;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package pij.dict;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a minimized {@link Dawg} from sorted words in one pass
+ * (incremental construction of Daciuk et al.): once a word no longer shares a
+ * prefix with its successor, the nodes of its suffix are final and are merged
+ * with an equivalent registered node if one exists.
+ */
+final class DawgBuilder {
+
+    private static final class Node {
+        Node[] children; // allocated on first child; most nodes are leaves
+        char[] letters;
+        int count;
+        boolean terminal;
+        int id = -1;     // assigned on registration
+        int hash;
+
+        Node lastChild() { return children[count - 1]; }
+
+        void add(char letter, Node child) {
+            if (children == null) {
+                children = new Node[2];
+                letters = new char[2];
+            } else if (count == children.length) {
+                children = Arrays.copyOf(children, count * 2);
+                letters = Arrays.copyOf(letters, count * 2);
+            }
+            letters[count] = letter;
+            children[count++] = child;
+        }
+
+        /** Structural hash; valid once all children are registered (and hence canonical). */
+        int computeHash() {
+            int h = terminal ? 1 : 0;
+            for (int i = 0; i < count; i++) {
+                h = 31 * h + letters[i];
+                h = 31 * h + children[i].id;
+            }
+            return h;
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Node)) return false;
+            Node n = (Node) o;
+            if (terminal != n.terminal || count != n.count || hash != n.hash) return false;
+            for (int i = 0; i < count; i++) {
+                if (letters[i] != n.letters[i] || children[i] != n.children[i]) return false;
+            }
+            return true;
+        }
+    }
+
+    private final Node root = new Node();
+    private final Map<Node, Node> register = new HashMap<>();
+    private String previous = "";
+    private int wordCount;
+
+    Dawg build(Iterable<String> sortedWords) {
+        for (String w : sortedWords) add(w);
+        minimize(root, 0);
+        return encode();
+    }
+
+    private void add(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch < 'A' || ch > 'Z') throw new IllegalArgumentException("Not an upper-case word: " + word);
+        }
+        int cmp = word.compareTo(previous);
+        if (cmp == 0 && wordCount > 0) return; // duplicate
+        if (cmp < 0) throw new IllegalArgumentException("Words must be sorted: " + previous + " > " + word);
+        if (word.isEmpty()) return;
+
+        int common = 0;
+        while (common < word.length() && common < previous.length()
+                && word.charAt(common) == previous.charAt(common)) {
+            common++;
+        }
+
+        Node node = root;
+        for (int i = 0; i < common; i++) node = node.lastChild();
+        minimize(node, common);
+
+        for (int i = common; i < word.length(); i++) {
+            Node child = new Node();
+            node.add(word.charAt(i), child);
+            node = child;
+        }
+        node.terminal = true;
+        previous = word;
+        wordCount++;
+    }
+
+    /**
+     * Registers (or replaces by an equivalent) every node below the last child of
+     * node along the previous word, deepest first.
+     */
+    private void minimize(Node node, int depth) {
+        if (node.count == 0 || depth >= previous.length()) return;
+        Node child = node.lastChild();
+        if (child.id >= 0) return;
+        minimize(child, depth + 1);
+
+        child.hash = child.computeHash();
+        Node existing = register.get(child);
+        if (existing != null) {
+            node.children[node.count - 1] = existing;
+        } else {
+            child.id = register.size();
+            register.put(child, child);
+        }
+    }
+
+    /** Lays out every distinct node with children as a contiguous block of packed edges. */
+    private Dawg encode() {
+        Map<Node, Integer> offsets = new IdentityHashMap<>();
+        List<Node> order = new ArrayList<>();
+        int next = 1; // index 0 is reserved for NO_CHILDREN
+
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node n = pending.remove(pending.size() - 1);
+            if (n.count == 0 || offsets.containsKey(n)) continue;
+            offsets.put(n, next);
+            order.add(n);
+            next += n.count;
+            for (int i = 0; i < n.count; i++) pending.add(n.children[i]);
+        }
+
+        int[] edges = new int[next];
+        for (Node n : order) {
+            int base = offsets.get(n);
+            for (int i = 0; i < n.count; i++) {
+                Node child = n.children[i];
+                int target = child.count == 0 ? Dawg.NO_CHILDREN : offsets.get(child);
+                if (target > Dawg.MAX_TARGET) throw new IllegalStateException("Dictionary too large");
+                int e = (n.letters[i] - 'A')
+                        | (child.terminal ? Dawg.END_OF_WORD : 0)
+                        | (i == n.count - 1 ? Dawg.LAST_EDGE : 0)
+                        | (target << Dawg.TARGET_SHIFT);
+                edges[base + i] = e;
+            }
+        }
+
+        int rootNode = root.count == 0 ? Dawg.NO_CHILDREN : offsets.get(root);
+        return new Dawg(IntBuffer.wrap(edges), rootNode, wordCount);
+    }
+}
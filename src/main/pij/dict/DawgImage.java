@@ -0,0 +1,88 @@
+package pij.dict;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Binary image of a {@link Dawg}, so a dictionary can be compiled once and then
+ * memory-mapped on every start instead of being parsed and rebuilt.
+ *
+ * Layout (big-endian ints):
+ * <pre>
+ *   magic "PIJD", version, word count, root node, edge count n, then n + 1 packed edges
+ * </pre>
+ * The mapping is read-only and shared through the OS page cache, so several JVMs
+ * reading the same image cost one copy of the edges. Mapping reads every edge once
+ * to check that the graph is well formed, so lookups never leave the edge array.
+ */
+public final class DawgImage {
+
+    static final int MAGIC = 0x50494A44; // "PIJD"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private DawgImage() {}
+
+    /** Writes the graph to file, replacing any existing file. */
+    public static void write(Dawg dawg, Path file) throws IOException {
+        IntBuffer edges = dawg.edges();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + edges.remaining() * Integer.BYTES);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(dawg.size()).putInt(dawg.root()).putInt(dawg.edgeCount());
+        buf.asIntBuffer().put(edges);
+        Files.write(file, buf.array());
+    }
+
+    /** Maps an image written by {@link #write}; lookups then read straight from the mapping. */
+    public static Dawg map(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()); // stays valid after close
+        }
+        if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary image: " + file);
+        }
+        if (mapped.getInt(4) != VERSION) {
+            throw new IOException("Unsupported dictionary image version: " + mapped.getInt(4));
+        }
+        int words = mapped.getInt(8);
+        int root = mapped.getInt(12);
+        int edgeCount = mapped.getInt(16);
+        if (words < 0 || edgeCount < 0 || edgeCount > Dawg.MAX_TARGET
+                || mapped.capacity() != HEADER_BYTES + (edgeCount + 1L) * Integer.BYTES) {
+            throw new IOException("Corrupt dictionary image: " + file);
+        }
+
+        IntBuffer edges = mapped.position(HEADER_BYTES).slice().asIntBuffer();
+        if (!wellFormed(edges, root, edgeCount)) throw new IOException("Corrupt dictionary image: " + file);
+        return new Dawg(edges, root, words);
+    }
+
+    /**
+     * True if edges 1..edgeCount split into nodes that each end with a last edge,
+     * and the root and every edge target are NO_CHILDREN or the first edge of a node.
+     */
+    private static boolean wellFormed(IntBuffer edges, int root, int edgeCount) {
+        BitSet nodes = new BitSet(edgeCount + 1);
+        boolean nodeStarts = true;
+        for (int i = 1; i <= edgeCount; i++) {
+            int e = edges.get(i);
+            if ((e & Dawg.LETTER_MASK) >= 26) return false;
+            if (nodeStarts) nodes.set(i);
+            nodeStarts = (e & Dawg.LAST_EDGE) != 0;
+        }
+        if (!nodeStarts) return false; // the last node runs off the end
+        if (root != Dawg.NO_CHILDREN && !nodes.get(Math.max(root, 0))) return false;
+        for (int i = 1; i <= edgeCount; i++) {
+            int t = Dawg.target(edges.get(i));
+            if (t != Dawg.NO_CHILDREN && (t > edgeCount || !nodes.get(t))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package pij.dict;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line step that compiles a plain-text word list into a binary image
+ * that {@link WordList#fromImage(Path)} can memory-map.
+ *
+ * Usage: {@code java pij.dict.DictionaryCompiler [wordlist.txt] [image]}
+ * (defaults: resources/wordlist.txt and resources/wordlist.dawg).
+ * Re-run it whenever the word list changes.
+ */
+public final class DictionaryCompiler {
+
+    public static final Path DEFAULT_SOURCE = Path.of("resources", "wordlist.txt");
+    public static final Path DEFAULT_IMAGE = Path.of("resources", "wordlist.dawg");
+
+    private DictionaryCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2) {
+            System.err.println("Usage: java pij.dict.DictionaryCompiler [wordlist.txt] [image]");
+            System.exit(2);
+        }
+        Path source = args.length > 0 ? Path.of(args[0]) : DEFAULT_SOURCE;
+        Path image = args.length > 1 ? Path.of(args[1]) : DEFAULT_IMAGE;
+
+        WordList words = compile(source, image);
+        System.out.println("Compiled " + words.size() + " words into " + image
+                + " (" + Files.size(image) + " bytes)");
+    }
+
+    /** Compiles source into image and returns the word list that was written. */
+    public static WordList compile(Path source, Path image) throws IOException {
+        WordList words = WordList.fromReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+        DawgImage.write(words.dawg(), image);
+        return words;
+    }
+}
@@ -1,23 +1,46 @@
 package pij.dict;
 
+import pij.metrics.Counter;
+import pij.metrics.Metrics;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Loads and queries the dictionary from resources/wordlist.txt.
- * Words are stored in uppercase for case-insensitive lookup.
+ * Words are stored in uppercase for case-insensitive lookup, compiled into a
+ * minimized {@link Dawg} that also answers prefix and successor-letter queries.
  */
 public final class WordList {
-    private final Set<String> words;
+    private static final Counter LOOKUPS = Metrics.counter("dict.lookups");
+    private static final Counter MISSES = Metrics.counter("dict.misses");
+
+    private final Dawg dawg;
+    private volatile AnagramIndex anagrams; // built on first use
 
+    /** Builds a word list from the given words; words containing non-letters are ignored. */
     public WordList(Set<String> words) {
-        this.words = new HashSet<>(words);
+        Set<String> sorted = new TreeSet<>();
+        for (String w : words) {
+            String up = w.trim().toUpperCase(Locale.ROOT);
+            if (isLetters(up)) sorted.add(up);
+        }
+        this.dawg = Dawg.build(sorted);
+    }
+
+    private WordList(Dawg dawg) {
+        this.dawg = dawg;
     }
 
     /** Loads the dictionary from a classpath resource (e.g., "/wordlist.txt"). */
@@ -30,18 +53,32 @@ public final class WordList {
         if (in == null) {
             throw new IOException("Resource not found: " + resourcePath);
         }
+        return fromReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
 
-        Set<String> set = new HashSet<>();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+    /** Loads the dictionary from a plain-text word list, one word per line. */
+    public static WordList fromReader(Reader reader) throws IOException {
+        List<String> list = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(reader)) {
             String line;
             while ((line = br.readLine()) != null) {
                 String w = line.trim();
                 if (w.isEmpty()) continue;
                 // tolerate lower/upper in file; normalize
-                set.add(w.toUpperCase(Locale.ROOT));
+                w = w.toUpperCase(Locale.ROOT);
+                if (isLetters(w)) list.add(w);
             }
         }
-        return new WordList(set);
+        Collections.sort(list); // the builder skips duplicates
+        return new WordList(Dawg.build(list));
+    }
+
+    /**
+     * Memory-maps a dictionary image compiled by {@link DictionaryCompiler}.
+     * Nothing is parsed or copied; lookups read the mapped edges directly.
+     */
+    public static WordList fromImage(Path image) throws IOException {
+        return new WordList(DawgImage.map(image));
     }
 
     /** Case-insensitive lookup. Returns true iff the word exists in the dictionary. */
@@ -49,14 +86,75 @@ public final class WordList {
         if (word == null) return false;
         String w = word.trim();
         if (w.isEmpty()) return false;
-        return words.contains(w.toUpperCase(Locale.ROOT));
+        return counted(dawg.contains(w.toUpperCase(Locale.ROOT)));
+    }
+
+    /** Allocation-free lookup of an upper-case word held in part of a char array. */
+    public boolean contains(char[] upper, int offset, int length) {
+        return counted(dawg.contains(upper, offset, length));
+    }
+
+    private static boolean counted(boolean found) {
+        if (Metrics.enabled()) {
+            LOOKUPS.increment();
+            if (!found) MISSES.increment();
+        }
+        return found;
+    }
+
+    /** Case-insensitive. Returns true iff some dictionary word starts with the prefix. */
+    public boolean hasPrefix(String prefix) {
+        if (prefix == null) return false;
+        String p = prefix.trim();
+        if (p.isEmpty()) return dawg.size() > 0;
+        return dawg.walk(p.toUpperCase(Locale.ROOT)) != Dawg.NO_EDGE;
+    }
+
+    /**
+     * Letters that can follow the prefix in some dictionary word, as a bit mask
+     * (bit i set for 'A' + i). Returns 0 if no word starts with the prefix.
+     */
+    public int successors(String prefix) {
+        if (prefix == null) return 0;
+        String p = prefix.trim();
+        if (p.isEmpty()) return dawg.successorMask(dawg.root());
+        int e = dawg.walk(p.toUpperCase(Locale.ROOT));
+        return e == Dawg.NO_EDGE ? 0 : dawg.successorMask(Dawg.target(e));
+    }
+
+    /** The underlying automaton, for callers that walk it letter by letter. */
+    public Dawg dawg() {
+        return dawg;
+    }
+
+    /** Index of words up to rack length by sorted letters; built on first call and shared. */
+    public AnagramIndex anagrams() {
+        AnagramIndex index = anagrams;
+        if (index == null) {
+            synchronized (this) {
+                index = anagrams;
+                if (index == null) {
+                    index = new AnagramIndex(allWords());
+                    anagrams = index;
+                }
+            }
+        }
+        return index;
     }
 
     public int size() {
-        return words.size();
+        return dawg.size();
     }
 
     public Iterable<String> allWords() {
-        return java.util.Collections.unmodifiableSet(words);
+        return dawg::iterator;
+    }
+
+    private static boolean isLetters(String w) {
+        for (int i = 0; i < w.length(); i++) {
+            char ch = w.charAt(i);
+            if (ch < 'A' || ch > 'Z') return false;
+        }
+        return true;
     }
 }
@@ -2,34 +2,142 @@ package pij.game;
 
 import pij.board.Board;
 import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.util.List;
 
 public final class MoveApplier {
 
+    /**
+     * Everything needed to take a move back: the squares it filled, the rack tiles
+     * it used (with their rack positions) and the wildcards it bound to a letter.
+     * Undo tokens must be undone in reverse order of application (a stack).
+     */
+    public static final class Undo {
+        private final Board board;
+        private final Rack rack;
+        private final int[] rows;
+        private final int[] cols;
+        private final Tile[] rackTiles;   // in removal order
+        private final int[] rackSlots;
+        private int removed;
+        private final Tile[] bound;       // wildcards whose letter was chosen by the move
+        private int boundCount;
+        private int tileCountAfter;
+        private boolean undone;
+
+        private Undo(Board board, Rack rack, int placements) {
+            this.board = board;
+            this.rack = rack;
+            this.rows = new int[placements];
+            this.cols = new int[placements];
+            this.rackTiles = new Tile[placements];
+            this.rackSlots = new int[placements];
+            this.bound = new Tile[placements];
+        }
+
+        /** Number of tiles the move placed. */
+        public int placements() { return rows.length; }
+    }
+
     /**
      * Applies a validated move to the board and removes the used tiles from the rack.
      * Assumes the move has already been validated.
+     *
+     * @return token for {@link #undo}
      */
-
-    public void apply(Board board, Rack rack, ValidatedMove vm) {
-        for (Placement p : vm.placements()) {
+    public Undo apply(Board board, Rack rack, ValidatedMove vm) {
+        List<Placement> placements = vm.placements();
+        Undo u = new Undo(board, rack, placements.size());
+        for (int i = 0; i < placements.size(); i++) {
+            Placement p = placements.get(i);
             board.placeTile(p.square().row(), p.square().col(), p.tile());
+            u.rows[i] = p.square().row();
+            u.cols[i] = p.square().col();
+        }
+        // Validation is non-destructive, so the used tiles are removed from the real rack here:
+        // for normal tiles the first tile with that letter, for wildcards the first wildcard.
+        for (Placement p : placements) {
+            int slot = findInRack(rack, p.tile());
+            if (slot < 0) continue;
+            u.rackSlots[u.removed] = slot;
+            u.rackTiles[u.removed++] = rack.removeAt(slot);
+        }
+        u.tileCountAfter = board.tileCount();
+        return u;
+    }
+
+    /**
+     * Applies a move checked by {@link MoveValidator#check} against this rack, placing
+     * the rack's own tiles (no new tiles are created) and binding used wildcards
+     * to their letters.
+     *
+     * @return token for {@link #undo}
+     */
+    public Undo apply(Board board, Rack rack, ValidationResult checked) {
+        if (!checked.isOk()) throw new IllegalArgumentException("move is not legal: " + checked.message());
+
+        int n = checked.placementCount();
+        Undo u = new Undo(board, rack, n);
+        List<Tile> view = rack.tilesView();
+        for (int i = 0; i < n; i++) {
+            Tile t = view.get(checked.placementRackSlot(i));
+            if (t.isWildcard()) {
+                t.chooseLetter(checked.placementLetter(i));
+                u.bound[u.boundCount++] = t;
+            }
+            board.placeTile(checked.placementRow(i), checked.placementCol(i), t);
+            u.rows[i] = checked.placementRow(i);
+            u.cols[i] = checked.placementCol(i);
+        }
+        // highest slot first, so the remaining slots keep their positions
+        for (int slot = view.size() - 1; slot >= 0; slot--) {
+            if (usesSlot(checked, slot)) {
+                u.rackSlots[u.removed] = slot;
+                u.rackTiles[u.removed++] = rack.removeAt(slot);
+            }
         }
-        // NOTE: rack removal already happened during validation planning if you choose destructive planning.
-        // In our design, validation is non-destructive, so we must remove from the real rack here.
-        // We'll provide a helper in MoveValidator to compute placements using a rackCopy,
-        // but also return the exact tiles to remove. Easiest: remove by matching properties.
-        removeTilesFromRack(rack, vm);
+        u.tileCountAfter = board.tileCount();
+        return u;
     }
 
-    private void removeTilesFromRack(Rack rack, ValidatedMove vm) {
-        // Remove each placement tile from the rack.
-        // For normal tiles, remove by letter. For wildcard, remove a wildcard.
-        for (Placement p : vm.placements()) {
-            if (p.tile().isWildcard()) {
-                rack.takeWildcard(); // should exist
-            } else {
-                rack.takeLetter(p.tile().letter()); // should exist
+    /**
+     * Takes back the move recorded by the token: empties the squares it filled,
+     * returns the tiles to their old rack positions and unbinds the wildcards it bound.
+     * Tokens must be undone most recent first.
+     */
+    public void undo(Undo u) {
+        if (u.undone) throw new IllegalStateException("move already undone");
+        if (u.board.tileCount() != u.tileCountAfter) {
+            throw new IllegalStateException("undo out of order");
+        }
+        for (int i = u.rows.length - 1; i >= 0; i--) {
+            u.board.removeTile(u.rows[i], u.cols[i]);
+        }
+        for (int i = u.removed - 1; i >= 0; i--) {
+            u.rack.insert(u.rackSlots[i], u.rackTiles[i]);
+        }
+        for (int i = 0; i < u.boundCount; i++) {
+            u.bound[i].clearChosenLetter();
+        }
+        u.undone = true;
+    }
+
+    private static int findInRack(Rack rack, Tile placed) {
+        List<Tile> view = rack.tilesView();
+        for (int i = 0; i < view.size(); i++) {
+            Tile t = view.get(i);
+            if (placed.isWildcard() ? t.isWildcard() : !t.isWildcard() && t.letter() == placed.letter()) {
+                return i;
             }
         }
+        return -1;
+    }
+
+    private static boolean usesSlot(ValidationResult checked, int slot) {
+        for (int i = 0; i < checked.placementCount(); i++) {
+            if (checked.placementRackSlot(i) == slot) return true;
+        }
+        return false;
     }
 }
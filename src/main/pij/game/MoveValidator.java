@@ -4,16 +4,20 @@ import pij.board.Board;
 import pij.board.Direction;
 import pij.board.Square;
 import pij.dict.WordList;
+import pij.metrics.Counter;
+import pij.metrics.Metrics;
 import pij.move.Move;
 import pij.tiles.Rack;
 import pij.tiles.Tile;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 public final class MoveValidator {
 
+    /** Checks by outcome, indexed by {@link ValidationResult} code. */
+    private static final Counter[] CHECKS = checkCounters();
+
     // Optional injected dictionary (so Main can call 4-arg validate)
     private final WordList injectedDict;
 
@@ -25,14 +29,19 @@ public final class MoveValidator {
         this.injectedDict = dict;
     }
 
+    /** One counter per result code, indexed by the code. */
+    private static Counter[] checkCounters() {
+        Counter[] counters = new Counter[ValidationResult.NOT_IN_DICTIONARY + 1];
+        counters[ValidationResult.OK] = Metrics.counter("validate.accepted");
+        for (int code = ValidationResult.OK + 1; code < counters.length; code++) {
+            counters[code] = Metrics.counter("validate.rejected." + ValidationResult.name(code));
+        }
+        return counters;
+    }
+
 
     public ValidatedMove validate(Board board, Rack rack, Move move, boolean firstMove) throws IllegalMoveException {
-        if (injectedDict == null) {
-            throw new IllegalStateException(
-                    "Dictionary not set. Construct MoveValidator(dict) or call validate(..., dict)."
-            );
-        }
-        return validate(board, rack, move, firstMove, injectedDict);
+        return validate(board, rack, move, firstMove, requireDict());
     }
 
     public ValidatedMove validate(Board board, Rack rack, Move move, boolean firstMove, WordList dict)
@@ -42,209 +51,207 @@ public final class MoveValidator {
             return new ValidatedMove("", List.of());
         }
 
+        ValidationResult result = new ValidationResult();
+        if (check(board, rack, move, firstMove, dict, result) != ValidationResult.OK) {
+            throw new IllegalMoveException(result.message());
+        }
+        return toValidatedMove(result);
+    }
+
+    /**
+     * Exception-free validation for search loops: same rules and order of checks as
+     * {@link #validate}, but the outcome is returned as a {@link ValidationResult} code
+     * and the plan is written into the caller's reusable result object.
+     * The rack is only read, never copied or modified. A pass checks as OK with no tiles.
+     */
+    public int check(Board board, Rack rack, Move move, boolean firstMove, ValidationResult out) {
+        return check(board, rack, move, firstMove, requireDict(), out);
+    }
+
+    public int check(Board board, Rack rack, Move move, boolean firstMove, WordList dict, ValidationResult out) {
+        int code = checkMove(board, rack, move, firstMove, dict, out);
+        if (Metrics.enabled()) CHECKS[code].increment();
+        return code;
+    }
+
+    private int checkMove(Board board, Rack rack, Move move, boolean firstMove, WordList dict, ValidationResult out) {
+        out.reset();
+        if (move.isPass()) return ValidationResult.OK;
+
         String raw = move.wordRaw();
         if (raw == null || raw.length() < 2) {
-            throw new IllegalMoveException("Word must have length >= 2");
+            return out.fail(ValidationResult.TOO_SHORT);
         }
 
-        Rack rackCopy = copyRack(rack);
+        Direction dir = move.direction();
+        out.direction = dir;
+        loadRack(rack, out);
 
-        Planned planned = planWithExistingTiles(board, rackCopy, raw, move.start(), move.direction());
+        int code = plan(board, raw, move.start(), dir, out);
+        if (code != ValidationResult.OK) return code;
 
-        if (planned.placements.isEmpty()) {
-            throw new IllegalMoveException("Move must place at least one tile");
+        if (out.count == 0) {
+            return out.fail(ValidationResult.NO_TILES_PLACED);
         }
 
-        if (firstMove && !planned.pathSquares.contains(board.startSquare())) {
-            throw new IllegalMoveException("First move must use start square");
+        if (firstMove && !pathContains(move.start(), raw.length(), dir, board.startSquare())) {
+            return out.fail(ValidationResult.MISSES_START);
         }
 
-        if (createsPerpendicularWord(board, planned, move.direction())) {
-            throw new IllegalMoveException("Move creates additional word(s)");
+        if (createsPerpendicularWord(board, out, dir)) {
+            return out.fail(ValidationResult.EXTRA_WORD);
         }
 
-        String mainWord = buildMainWord(board, planned, move.direction());
+        buildMainWord(board, move.start(), raw.length(), out);
 
-        if (!dict.contains(mainWord)) {
-            throw new IllegalMoveException("Word not in dictionary");
+        if (!dict.contains(out.word, 0, out.wordLength)) {
+            return out.fail(ValidationResult.NOT_IN_DICTIONARY);
         }
-
-        return new ValidatedMove(mainWord, planned.placements);
+        return ValidationResult.OK;
     }
 
-    private static final class Planned {
-        final List<Placement> placements; // new tiles to place
-        final List<Square> pathSquares;   // squares covered by raw input (length = raw.length)
-
-        Planned(List<Placement> placements, List<Square> pathSquares) {
-            this.placements = placements;
-            this.pathSquares = pathSquares;
+    private WordList requireDict() {
+        if (injectedDict == null) {
+            throw new IllegalStateException(
+                    "Dictionary not set. Construct MoveValidator(dict) or call validate(..., dict)."
+            );
         }
+        return injectedDict;
     }
 
+    private static void loadRack(Rack rack, ValidationResult out) {
+        rack.copyCounts(out.rackLeft);
+        List<Tile> tiles = rack.tilesView();
+        out.ensureRackCapacity(tiles.size());
+        out.rackSize = tiles.size();
+        for (int i = 0; i < tiles.size(); i++) {
+            Tile t = tiles.get(i);
+            out.rackLetters[i] = t.isWildcard() ? '_' : t.letter();
+            out.rackValues[i] = t.value();
+            out.rackUsed[i] = false;
+        }
+    }
 
-    private Planned planWithExistingTiles(Board board, Rack rackCopy, String word, Square start, Direction dir)
-            throws IllegalMoveException {
-
+    /**
+     * Walks the squares covered by the raw word: occupied squares must match,
+     * empty squares take a tile from the rack view.
+     */
+    private int plan(Board board, String word, Square start, Direction dir, ValidationResult out) {
         int dr = (dir == Direction.DOWN) ? 1 : 0;
         int dc = (dir == Direction.RIGHT) ? 1 : 0;
 
         int row = start.row();
         int col = start.col();
 
-        List<Placement> placements = new ArrayList<>();
-        List<Square> path = new ArrayList<>();
-
         for (int i = 0; i < word.length(); i++) {
             if (!board.inBounds(row, col)) {
-                throw new IllegalMoveException("Word does not fit on board");
+                return out.fail(ValidationResult.OFF_BOARD);
             }
 
             char ch = word.charAt(i);
-            Square sq = new Square(row, col);
-            path.add(sq);
+            boolean upper = ch >= 'A' && ch <= 'Z';
+            boolean lower = ch >= 'a' && ch <= 'z';
+            if (!upper && !lower) {
+                return out.fail(ValidationResult.INVALID_CHAR);
+            }
 
             if (!board.isEmptyAt(row, col)) {
                 // occupied -> must match
-                char existing = normalizeBoardChar(board.tileAt(row, col));
-                char expected = normalizeInputChar(ch);
-                if (existing != expected) {
-                    throw new IllegalMoveException("Conflicts with existing tile");
+                if (board.letterAt(row, col) != Character.toUpperCase(ch)) {
+                    return out.fail(ValidationResult.CONFLICT);
                 }
             } else {
-                // empty -> place tile from rack
-                Tile t = takeTileForChar(rackCopy, ch);
-                placements.add(new Placement(sq, t));
+                // empty -> place tile from rack; the counts say whether one is left
+                int l = upper ? ch - 'A' : Rack.WILDCARD;
+                if (out.rackLeft[l] == 0) {
+                    out.offending = ch;
+                    return out.fail(upper ? ValidationResult.MISSING_TILE : ValidationResult.MISSING_WILDCARD);
+                }
+                out.rackLeft[l]--;
+                int k = takeTile(out, upper ? ch : '_');
+                int n = out.count++;
+                out.rows[n] = row;
+                out.cols[n] = col;
+                out.letters[n] = Character.toUpperCase(ch);
+                out.wildcard[n] = lower;
+                out.values[n] = out.rackValues[k];
+                out.rackSlots[n] = k;
             }
 
             row += dr;
             col += dc;
         }
-
-        return new Planned(placements, path);
+        return ValidationResult.OK;
     }
 
-
-    private boolean createsPerpendicularWord(Board board, Planned planned, Direction mainDir) {
-        Direction perp = (mainDir == Direction.RIGHT) ? Direction.DOWN : Direction.RIGHT;
-
-        for (Placement p : planned.placements) {
-            int row = p.square().row();
-            int col = p.square().col();
-            int len = perpendicularWordLength(board, planned, row, col, perp);
-            if (len >= 2) return true;
+    /** Marks the first unused rack tile with the given letter ('_' = wildcard) as used; one must be left. */
+    private static int takeTile(ValidationResult out, char letter) {
+        for (int i = 0; i < out.rackSize; i++) {
+            if (!out.rackUsed[i] && out.rackLetters[i] == letter) {
+                out.rackUsed[i] = true;
+                return i;
+            }
         }
-        return false;
+        return -1;
     }
 
-    private int perpendicularWordLength(Board board, Planned planned, int row, int col, Direction dir) {
-        int dr = (dir == Direction.DOWN) ? 1 : 0;
-        int dc = (dir == Direction.RIGHT) ? 1 : 0;
-
-        // go to word start
-        int r = row;
-        int c = col;
-        while (board.inBounds(r - dr, c - dc) && hasTileAfterMove(board, planned, r - dr, c - dc)) {
-            r -= dr;
-            c -= dc;
-        }
-
-        // count length
-        int len = 0;
-        while (board.inBounds(r, c) && hasTileAfterMove(board, planned, r, c)) {
-            len++;
-            r += dr;
-            c += dc;
+    private static boolean pathContains(Square start, int length, Direction dir, Square target) {
+        if (dir == Direction.RIGHT) {
+            return target.row() == start.row() && target.col() >= start.col() && target.col() < start.col() + length;
         }
-        return len;
+        return target.col() == start.col() && target.row() >= start.row() && target.row() < start.row() + length;
     }
 
-
-    private String buildMainWord(Board board, Planned planned, Direction dir) {
-        int dr = (dir == Direction.DOWN) ? 1 : 0;
-        int dc = (dir == Direction.RIGHT) ? 1 : 0;
-
-        Square anchor = planned.pathSquares.get(0);
-
-        // move back to start
-        int r = anchor.row();
-        int c = anchor.col();
-        while (board.inBounds(r - dr, c - dc) && hasTileAfterMove(board, planned, r - dr, c - dc)) {
-            r -= dr;
-            c -= dc;
-        }
-
-        // move forward building word
-        StringBuilder sb = new StringBuilder();
-        while (board.inBounds(r, c) && hasTileAfterMove(board, planned, r, c)) {
-            sb.append(letterAtAfterMove(board, planned, r, c));
-            r += dr;
-            c += dc;
-        }
-
-        return sb.toString();
-    }
-
-    private boolean hasTileAfterMove(Board board, Planned planned, int row, int col) {
-        if (!board.inBounds(row, col)) return false;
-        if (!board.isEmptyAt(row, col)) return true;
-
-        for (Placement p : planned.placements) {
-            if (p.square().row() == row && p.square().col() == col) return true;
+    /**
+     * All placed tiles lie on the main line, so a placed tile forms a second word
+     * exactly when a board tile touches it across the line.
+     */
+    private boolean createsPerpendicularWord(Board board, ValidationResult planned, Direction mainDir) {
+        for (int i = 0; i < planned.count; i++) {
+            if (board.touchesAcross(planned.rows[i], planned.cols[i], mainDir)) return true;
         }
         return false;
     }
 
-    private char letterAtAfterMove(Board board, Planned planned, int row, int col) {
-        if (!board.isEmptyAt(row, col)) {
-            return normalizeBoardChar(board.tileAt(row, col));
-        }
-        for (Placement p : planned.placements) {
-            if (p.square().row() == row && p.square().col() == col) {
-                return Character.toUpperCase(p.tile().displayChar());
-            }
-        }
-        throw new IllegalStateException("No tile at " + row + "," + col);
-    }
-
-    private char normalizeInputChar(char ch) {
-        if (Character.isUpperCase(ch)) return ch;
-        if (Character.isLowerCase(ch)) return Character.toUpperCase(ch);
-        throw new IllegalArgumentException("Invalid character: " + ch);
-    }
-
-    private char normalizeBoardChar(Tile t) {
-        if (!t.isWildcard()) return t.letter();              // uppercase
-        return Character.toUpperCase(t.displayChar());       // chosen letter is lowercase
-    }
-
-    private Tile takeTileForChar(Rack rackCopy, char ch) throws IllegalMoveException {
-        if (Character.isUpperCase(ch)) {
-            Optional<Tile> t = rackCopy.takeLetter(ch);
-            if (t.isEmpty()) throw new IllegalMoveException("Missing tile: " + ch);
-            return t.get();
-        } else if (Character.isLowerCase(ch)) {
-            Optional<Tile> w = rackCopy.takeWildcard();
-            if (w.isEmpty()) throw new IllegalMoveException("Missing wildcard for: " + ch);
-            Tile wildcard = w.get();
-            wildcard.chooseLetter(ch);
-            return wildcard;
-        } else {
-            throw new IllegalMoveException("Invalid character in word");
+    /**
+     * The path squares are all filled after the move; the main word extends from
+     * them over adjacent board tiles in both directions.
+     */
+    private void buildMainWord(Board board, Square start, int pathLength, ValidationResult out) {
+        Direction dir = out.direction;
+        boolean right = dir == Direction.RIGHT;
+        int line = right ? start.row() : start.col();
+        int from = right ? start.col() : start.row();
+
+        // the word starts after the nearest empty square before the path ...
+        int first = board.emptyBefore(dir, line, from) + 1;
+        // ... and ends before the nearest empty square after the path
+        int end = board.emptyAfter(dir, line, from + pathLength - 1);
+
+        int next = 0; // next planned tile, in path order
+        int len = 0;
+        for (int pos = first; pos < end; pos++) {
+            int r = right ? line : pos;
+            int c = right ? pos : line;
+            out.word[len++] = board.isEmptyAt(r, c) ? out.letters[next++] : board.letterAt(r, c);
         }
+        out.wordRow = right ? line : first;
+        out.wordCol = right ? first : line;
+        out.wordLength = len;
     }
 
-    private Rack copyRack(Rack original) {
-        Rack r = new Rack();
-        for (Tile t : original.tilesView()) {
-            if (t.isWildcard()) {
-                Tile w = Tile.wildcard();
-                t.chosenLetter().ifPresent(w::chooseLetter);
-                r.add(w);
+    private static ValidatedMove toValidatedMove(ValidationResult result) {
+        List<Placement> placements = new ArrayList<>(result.count);
+        for (int i = 0; i < result.count; i++) {
+            Tile t;
+            if (result.wildcard[i]) {
+                t = Tile.wildcard();
+                t.chooseLetter(Character.toLowerCase(result.letters[i]));
             } else {
-                r.add(Tile.normal(t.letter(), t.value()));
+                t = Tile.normal(result.letters[i], result.values[i]);
             }
+            placements.add(new Placement(new Square(result.rows[i], result.cols[i]), t));
         }
-        return r;
+        return new ValidatedMove(result.mainWord(), placements);
     }
-}
\ No newline at end of file
+}
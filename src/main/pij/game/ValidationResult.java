@@ -0,0 +1,138 @@
+package pij.game;
+
+import pij.board.Direction;
+import pij.board.Square;
+
+/**
+ * Reusable outcome of {@link MoveValidator#check}: a result code plus, for legal
+ * moves, the planned tiles and the main word, all held in primitive arrays.
+ * One instance can be reused for any number of checks on boards up to 99 squares
+ * long; it is not thread-safe, so give each thread its own.
+ */
+public final class ValidationResult {
+
+    public static final int OK = 0;
+    public static final int TOO_SHORT = 1;
+    public static final int OFF_BOARD = 2;
+    public static final int CONFLICT = 3;
+    public static final int MISSING_TILE = 4;
+    public static final int MISSING_WILDCARD = 5;
+    public static final int INVALID_CHAR = 6;
+    public static final int NO_TILES_PLACED = 7;
+    public static final int MISSES_START = 8;
+    public static final int EXTRA_WORD = 9;
+    public static final int NOT_IN_DICTIONARY = 10;
+
+    static final int MAX_LINE = 99;
+
+    // planned tiles, in path order
+    int count;
+    final int[] rows = new int[MAX_LINE];
+    final int[] cols = new int[MAX_LINE];
+    final char[] letters = new char[MAX_LINE];     // upper case
+    final boolean[] wildcard = new boolean[MAX_LINE];
+    final int[] values = new int[MAX_LINE];
+    final int[] rackSlots = new int[MAX_LINE];     // rack index each tile is taken from
+
+    // main word after the move
+    int wordRow;
+    int wordCol;
+    int wordLength;
+    final char[] word = new char[MAX_LINE];
+    Direction direction;
+
+    int code;
+    char offending; // letter for MISSING_TILE / MISSING_WILDCARD
+
+    // scratch view of the rack: tile letters ('_' for wildcards), values, and use flags
+    char[] rackLetters = new char[16];
+    int[] rackValues = new int[16];
+    boolean[] rackUsed = new boolean[16];
+    int rackSize;
+    final int[] rackLeft = new int[27]; // unused tiles per letter, index 26 = wildcards
+
+    void reset() {
+        count = 0;
+        wordLength = 0;
+        code = OK;
+        offending = 0;
+    }
+
+    void ensureRackCapacity(int n) {
+        if (n > rackLetters.length) {
+            rackLetters = new char[n];
+            rackValues = new int[n];
+            rackUsed = new boolean[n];
+        }
+    }
+
+    int fail(int code) {
+        this.code = code;
+        return code;
+    }
+
+    public int code() { return code; }
+    public boolean isOk() { return code == OK; }
+
+    /** Number of tiles the move places. */
+    public int placementCount() { return count; }
+    public int placementRow(int i) { return rows[i]; }
+    public int placementCol(int i) { return cols[i]; }
+    /** Upper-case letter shown by the i-th placed tile. */
+    public char placementLetter(int i) { return letters[i]; }
+    public boolean placementIsWildcard(int i) { return wildcard[i]; }
+    /** Face value of the i-th placed tile. */
+    public int placementValue(int i) { return values[i]; }
+    /** Index in the checked rack of the tile used for the i-th placement. */
+    public int placementRackSlot(int i) { return rackSlots[i]; }
+
+    public Direction direction() { return direction; }
+    public Square wordStart() { return new Square(wordRow, wordCol); }
+    public int wordRow() { return wordRow; }
+    public int wordCol() { return wordCol; }
+    public int wordLength() { return wordLength; }
+    public char wordLetter(int i) { return word[i]; }
+
+    /** Main word as a String; allocates, so only call it for moves that are kept. */
+    public String mainWord() { return new String(word, 0, wordLength); }
+
+    /** Human-readable reason, matching the messages of {@link IllegalMoveException}. */
+    public String message() {
+        return message(code, offending);
+    }
+
+    /** Short lower-case name of a result code, e.g. "too_short", for counters and logs. */
+    public static String name(int code) {
+        return switch (code) {
+            case OK -> "ok";
+            case TOO_SHORT -> "too_short";
+            case OFF_BOARD -> "off_board";
+            case CONFLICT -> "conflict";
+            case MISSING_TILE -> "missing_tile";
+            case MISSING_WILDCARD -> "missing_wildcard";
+            case INVALID_CHAR -> "invalid_char";
+            case NO_TILES_PLACED -> "no_tiles_placed";
+            case MISSES_START -> "misses_start";
+            case EXTRA_WORD -> "extra_word";
+            case NOT_IN_DICTIONARY -> "not_in_dictionary";
+            default -> throw new IllegalArgumentException("unknown result " + code);
+        };
+    }
+
+    static String message(int code, char offending) {
+        return switch (code) {
+            case OK -> "OK";
+            case TOO_SHORT -> "Word must have length >= 2";
+            case OFF_BOARD -> "Word does not fit on board";
+            case CONFLICT -> "Conflicts with existing tile";
+            case MISSING_TILE -> "Missing tile: " + offending;
+            case MISSING_WILDCARD -> "Missing wildcard for: " + offending;
+            case INVALID_CHAR -> "Invalid character in word";
+            case NO_TILES_PLACED -> "Move must place at least one tile";
+            case MISSES_START -> "First move must use start square";
+            case EXTRA_WORD -> "Move creates additional word(s)";
+            case NOT_IN_DICTIONARY -> "Word not in dictionary";
+            default -> "Unknown result " + code;
+        };
+    }
+}
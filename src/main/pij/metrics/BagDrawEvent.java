@@ -0,0 +1,22 @@
+package pij.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for tiles taken from a bag. */
+@Name("pij.BagDraw")
+@Label("Bag Draw")
+@Category("ScraeBBKle")
+public final class BagDrawEvent extends Event {
+
+    @Label("Requested")
+    public int requested;
+
+    @Label("Drawn")
+    public int drawn;
+
+    @Label("Left in Bag")
+    public int remaining;
+}
@@ -0,0 +1,25 @@
+package pij.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic count, cheap to update from many threads at once. */
+public final class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long n) {
+        adder.add(n);
+    }
+
+    public long sum() {
+        return adder.sum();
+    }
+
+    void reset() {
+        adder.reset();
+    }
+}
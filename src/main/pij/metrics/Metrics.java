@@ -0,0 +1,60 @@
+package pij.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-wide registry of named counters and latency histograms.
+ *
+ * Instrumented code keeps its counters in static fields and updates them only
+ * behind {@link #enabled()}, a single volatile read, so with metrics off the cost
+ * is that read and no timing calls. Metrics are off unless the system property
+ * {@code pij.metrics} is true or {@link #setEnabled} turns them on.
+ */
+public final class Metrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("pij.metrics");
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+
+    private Metrics() {}
+
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /** The counter of that name, created on first use. */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /** The histogram of that name, created on first use. */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /** Sets every counter and histogram back to zero; the registered names stay. */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    /** Every non-zero counter and histogram, one per line in name order, times in microseconds. */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        COUNTERS.forEach((name, c) -> {
+            long n = c.sum();
+            if (n != 0) sb.append(String.format("%-36s %d%n", name, n));
+        });
+        HISTOGRAMS.forEach((name, h) -> {
+            if (h.count() == 0) return;
+            sb.append(String.format("%-36s n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n", name, h.count(),
+                    h.mean() / 1e3, h.percentile(0.5) / 1e3, h.percentile(0.99) / 1e3, h.max() / 1e3));
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package pij.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event for one call of the move generator. */
+@Name("pij.MoveGeneration")
+@Label("Move Generation")
+@Category("ScraeBBKle")
+@Description("Listing the legal moves of a rack on a board")
+public final class MoveGenerationEvent extends Event {
+
+    @Label("Candidates")
+    @Description("Moves delivered to the caller")
+    public int candidates;
+
+    @Label("Lines Searched")
+    public int lines;
+
+    @Label("Rack Size")
+    public int rackSize;
+
+    @Label("First Move")
+    public boolean firstMove;
+}
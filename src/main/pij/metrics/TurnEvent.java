@@ -0,0 +1,30 @@
+package pij.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event spanning a controller's turn, from asking for the move to playing it. */
+@Name("pij.Turn")
+@Label("Turn")
+@Category("ScraeBBKle")
+@Description("A computer player's turn: choosing the move and playing it")
+public final class TurnEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Move")
+    public String move;
+
+    @Label("Score")
+    public int score;
+
+    @Label("First Move")
+    public boolean firstMove;
+}
@@ -35,6 +35,17 @@ public final class MoveParser {
         return Move.play(word, ps.square, ps.dir);
     }
 
+    /**
+     * Writes a move in the syntax {@link #parse} reads: "," for a pass, "HI,f4" for a
+     * downward move (column first) and "HI,4f" for a rightward move (row first).
+     */
+    public String format(Move move) {
+        if (move.isPass()) return ",";
+        char col = (char) ('a' + move.start().col());
+        int row = move.start().row() + 1;
+        return move.wordRaw() + "," + (move.direction() == Direction.DOWN ? col + String.valueOf(row) : row + String.valueOf(col));
+    }
+
     private static final class ParsedSquare {
         final Square square;
         final Direction dir;
@@ -1,41 +1,129 @@
 package pij.play;
 
 import pij.board.Board;
-import pij.board.Cell;
-import pij.tiles.Tile;
 
-public final class BoardPrinter {
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Prints the board as text: a header of column letters, then one line per row
+ * with its number and a character per square (the letter of a tile, or '.', 'L'
+ * or 'W' for an empty normal, letter-premium or word-premium square).
+ *
+ * Each frame is built in a reusable byte buffer and written to the stream in one
+ * call. In incremental mode only the rows whose tiles changed since the previous
+ * frame are printed, after a full first frame; a turn after a pass prints nothing.
+ */
+public final class BoardPrinter implements BoardRenderer {
+
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final boolean changedRowsOnly;
+    private byte[] buf = new byte[0];
+    private int len;
+
+    private Board drawn;       // board of the last frame, in incremental mode
+    private long[] drawnRows;  // its row occupancy at that frame
+
+    /** Prints whole frames to standard output. */
+    public BoardPrinter() {
+        this(System.out, false);
+    }
+
+    /** @param changedRowsOnly whether frames after the first show only the rows that changed */
+    public BoardPrinter(OutputStream out, boolean changedRowsOnly) {
+        this.out = out;
+        this.changedRowsOnly = changedRowsOnly;
+    }
+
+    /** Prints the whole board, whatever the mode. */
     public void print(Board b) {
-        int rows = b.rows();
         int cols = b.cols();
-
-        System.out.print("   ");
+        len = 0;
+        reserve((b.rows() + 1) * (3 + 2 * cols + NEWLINE.length));
+        put((byte) ' ');
+        put((byte) ' ');
+        put((byte) ' ');
         for (int c = 0; c < cols; c++) {
-            System.out.print((char)('a' + c) + " ");
+            put((byte) ('a' + c));
+            put((byte) ' ');
         }
-        System.out.println();
-
-        for (int r = 0; r < rows; r++) {
-            String rowLabel = String.format("%2d ", r + 1);
-            System.out.print(rowLabel);
-
-            for (int c = 0; c < cols; c++) {
-                Cell cell = b.cellAt(r, c);
-                if (!cell.isEmpty()) {
-                    Tile t = cell.tile();
-                    char ch = t.isWildcard() ? t.displayChar() : t.letter();
-                    System.out.print(Character.toUpperCase(ch) + " ");
-                } else {
-                    String s = switch (cell.type()) {
-                        case NORMAL -> ".";
-                        case LETTER_PREMIUM -> "L";
-                        case WORD_PREMIUM -> "W";
-                    };
-                    System.out.print(s + " ");
-                }
+        newline();
+        for (int r = 0; r < b.rows(); r++) row(b, r);
+        flush();
+        remember(b);
+    }
+
+    @Override
+    public void render(Board b) {
+        if (!changedRowsOnly || drawn != b || drawnRows.length != b.rows()) {
+            print(b);
+            return;
+        }
+        len = 0;
+        for (int r = 0; r < b.rows(); r++) {
+            long now = b.rowOccupancy(r);
+            if (now == drawnRows[r]) continue;
+            reserve(len + 3 + 2 * b.cols() + NEWLINE.length);
+            row(b, r);
+            drawnRows[r] = now;
+        }
+        if (len > 0) flush();
+    }
+
+    /** Appends one row line; the buffer must have room for it. */
+    private void row(Board b, int r) {
+        int n = r + 1;
+        put((byte) (n < 10 ? ' ' : '0' + n / 10));
+        put((byte) ('0' + n % 10));
+        put((byte) ' ');
+        for (int c = 0; c < b.cols(); c++) {
+            if (!b.isEmptyAt(r, c)) {
+                put((byte) b.letterAt(r, c));
+            } else {
+                put((byte) switch (b.typeAt(r, c)) {
+                    case NORMAL -> '.';
+                    case LETTER_PREMIUM -> 'L';
+                    case WORD_PREMIUM -> 'W';
+                });
             }
-            System.out.println();
+            put((byte) ' ');
+        }
+        newline();
+    }
+
+    private void remember(Board b) {
+        if (!changedRowsOnly) return;
+        if (drawnRows == null || drawnRows.length != b.rows()) drawnRows = new long[b.rows()];
+        for (int r = 0; r < b.rows(); r++) drawnRows[r] = b.rowOccupancy(r);
+        drawn = b;
+    }
+
+    private void reserve(int size) {
+        if (buf.length < size) {
+            byte[] bigger = new byte[Math.max(size, 2 * buf.length)];
+            System.arraycopy(buf, 0, bigger, 0, len);
+            buf = bigger;
+        }
+    }
+
+    private void put(byte ch) {
+        buf[len++] = ch;
+    }
+
+    private void newline() {
+        for (byte ch : NEWLINE) put(ch);
+    }
+
+    private void flush() {
+        try {
+            out.write(buf, 0, len);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,19 @@
+package pij.play;
+
+import pij.board.Board;
+
+/**
+ * Draws the board for whoever watches a game. Called once per turn with the
+ * board as it stands; a renderer may draw the whole board or only what changed
+ * since its last frame.
+ */
+@FunctionalInterface
+public interface BoardRenderer {
+
+    void render(Board board);
+
+    /** Renderer that draws nothing, for headless runs. */
+    static BoardRenderer none() {
+        return board -> {};
+    }
+}
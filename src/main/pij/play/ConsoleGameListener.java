@@ -0,0 +1,97 @@
+package pij.play;
+
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.score.ScoreBreakdown;
+import pij.tiles.Tile;
+
+/** Prints a game to standard output as the console game shows it. */
+public final class ConsoleGameListener implements GameListener {
+
+    private final BoardRenderer renderer;
+    private final boolean openGame;
+
+    /** @param openGame whether the other player's tiles are shown each turn */
+    public ConsoleGameListener(boolean openGame) {
+        this(openGame, new BoardPrinter());
+    }
+
+    /**
+     * @param renderer draws the board at the start of each turn, e.g. an incremental
+     *                 {@link BoardPrinter} or {@link BoardRenderer#none()}
+     */
+    public ConsoleGameListener(boolean openGame, BoardRenderer renderer) {
+        this.openGame = openGame;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void turnStarted(GameSession session, PlayerState player) {
+        PlayerState p1 = session.player(0);
+        PlayerState p2 = session.player(1);
+        System.out.println();
+        System.out.println(p1.name() + ": " + p1.score() + "    " + p2.name() + ": " + p2.score());
+        renderer.render(session.board());
+
+        if (openGame) {
+            System.out.println("OPEN GAME: " + session.other().name() + "'s tiles:");
+            System.out.println(rackToString(session.other()));
+        }
+
+        System.out.println("It's your turn, " + player.name() + "! Your tiles:");
+        System.out.println(rackToString(player));
+    }
+
+    @Override
+    public void moveChosen(GameSession session, PlayerState player, Move move) {
+        System.out.println(player.name() + " chooses: " + moveToString(move));
+    }
+
+    @Override
+    public void movePlayed(GameSession session, PlayerState player, Move move, ValidatedMove placed, ScoreBreakdown score) {
+        System.out.println(player.name() + " plays " + placed.mainWord() + " for " + score.total() + " points.");
+    }
+
+    @Override
+    public void passed(GameSession session, PlayerState player) {
+        System.out.println(player.name() + " passes.");
+    }
+
+    @Override
+    public void moveRejected(GameSession session, PlayerState player, Move move, String reason) {
+        System.out.println("Illegal move");
+        System.out.println(player.name() + " falls back to pass.");
+    }
+
+    @Override
+    public void gameEnded(GameSession session) {
+        PlayerState p1 = session.player(0);
+        PlayerState p2 = session.player(1);
+        System.out.println();
+        System.out.println("Game over.");
+        System.out.println(p1.name() + " penalty: -" + session.penalty(0));
+        System.out.println(p2.name() + " penalty: -" + session.penalty(1));
+        System.out.println("Final scores:");
+        System.out.println(p1.name() + ": " + p1.score());
+        System.out.println(p2.name() + ": " + p2.score());
+
+        if (p1.score() > p2.score()) System.out.println(p1.name() + " wins!");
+        else if (p2.score() > p1.score()) System.out.println(p2.name() + " wins!");
+        else System.out.println("Draw!");
+    }
+
+    private static String moveToString(Move m) {
+        if (m.isPass()) return ",";
+        return m.wordRaw() + "," + m.start().toString() + " (" + m.direction() + ")";
+    }
+
+    private static String rackToString(PlayerState p) {
+        StringBuilder sb = new StringBuilder();
+        for (Tile t : p.rack().tilesView()) {
+            if (t.isWildcard()) sb.append("[_8]");
+            else sb.append(t.letter());
+            sb.append(" ");
+        }
+        return sb.toString().trim();
+    }
+}
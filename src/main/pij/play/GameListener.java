@@ -0,0 +1,42 @@
+package pij.play;
+
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.score.ScoreBreakdown;
+
+/**
+ * Receives the events of a {@link GameSession}. All methods do nothing by default,
+ * so listeners override only what they need. Events are delivered on the thread
+ * that drives the session.
+ */
+public interface GameListener {
+
+    /**
+     * A player's turn begins; fired once per turn before the move is submitted, and
+     * again after a submitted move was illegal, since the same player chooses again.
+     */
+    default void turnStarted(GameSession session, PlayerState player) {}
+
+    /** A controller chose a move during {@link GameSession#nextTurn}, before it is played. */
+    default void moveChosen(GameSession session, PlayerState player, Move move) {}
+
+    /**
+     * A move was placed and scored; the rack has already been refilled.
+     *
+     * @param move   the move as submitted
+     * @param placed the tiles it placed and its main word
+     */
+    default void movePlayed(GameSession session, PlayerState player, Move move, ValidatedMove placed, ScoreBreakdown score) {}
+
+    /** The player passed. */
+    default void passed(GameSession session, PlayerState player) {}
+
+    /**
+     * A controller offered an illegal move during {@link GameSession#nextTurn}. It
+     * counts as a pass, but {@link #passed} is not fired for it.
+     */
+    default void moveRejected(GameSession session, PlayerState player, Move move, String reason) {}
+
+    /** The game is over; end-of-game penalties have been applied to the scores. */
+    default void gameEnded(GameSession session) {}
+}
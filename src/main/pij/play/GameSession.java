@@ -0,0 +1,225 @@
+package pij.play;
+
+import pij.ai.PlayerController;
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.IllegalMoveException;
+import pij.game.MoveApplier;
+import pij.game.MoveValidator;
+import pij.game.ValidatedMove;
+import pij.metrics.Metrics;
+import pij.metrics.TurnEvent;
+import pij.move.Move;
+import pij.score.ScoreBreakdown;
+import pij.score.Scorer;
+import pij.tiles.TileBag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One game between two players, without any I/O: the board, both players, the bag
+ * and the rules (turn order, scoring, refilling racks, counting passes and the
+ * end-of-game penalties). Moves come either from the caller through {@link #submit}
+ * or from the players' controllers through {@link #nextTurn}; what happens is
+ * reported to {@link GameListener}s, so printing is just one listener among others.
+ *
+ * The game ends when the bag is empty and a player has emptied their rack, or
+ * after four passes in a row. Each player then loses the value of their own rack.
+ * Not thread-safe; one thread drives a session.
+ */
+public final class GameSession {
+
+    public static final int RACK_SIZE = 7;
+    private static final int MAX_PASSES = 4;
+
+    private final Board board;
+    private final WordList dict;
+    private final TileBag bag;
+    private final PlayerState[] players;
+    private final PlayerController[] controllers;
+    private final int[] penalties = new int[2];
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    private final MoveValidator validator;
+    private final MoveApplier applier = new MoveApplier();
+    private final Scorer scorer = new Scorer();
+
+    private int current;
+    private boolean firstMove = true;
+    private int consecutivePasses;
+    private int turns;
+    private boolean turnAnnounced;
+    private boolean over;
+
+    /**
+     * Starts a game; both racks are filled from the bag, player 1 first.
+     *
+     * @param c1 controller used by {@link #nextTurn} for player 1 (may be null if moves are submitted)
+     * @param c2 likewise for player 2
+     */
+    public GameSession(Board board, WordList dict, TileBag bag,
+                       PlayerState p1, PlayerController c1, PlayerState p2, PlayerController c2) {
+        this.board = board;
+        this.dict = dict;
+        this.bag = bag;
+        this.players = new PlayerState[] {p1, p2};
+        this.controllers = new PlayerController[] {c1, c2};
+        this.validator = new MoveValidator(dict);
+        bag.refillRack(p1.rack(), RACK_SIZE);
+        bag.refillRack(p2.rack(), RACK_SIZE);
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public Board board() { return board; }
+    public WordList dictionary() { return dict; }
+    public TileBag bag() { return bag; }
+    public PlayerState player(int index) { return players[index]; }
+    public PlayerController controller(int index) { return controllers[index]; }
+
+    /** Index (0 or 1) of the player to move. */
+    public int currentIndex() { return current; }
+    public PlayerState current() { return players[current]; }
+    public PlayerState other() { return players[1 - current]; }
+    public PlayerController currentController() { return controllers[current]; }
+
+    public boolean isFirstMove() { return firstMove; }
+    public int consecutivePasses() { return consecutivePasses; }
+    /** Turns completed so far (moves and passes). */
+    public int turns() { return turns; }
+    public boolean isOver() { return over; }
+
+    /** End-of-game penalty of a player (0 until the game is over). */
+    public int penalty(int index) { return penalties[index]; }
+
+    /**
+     * Announces the current turn to the listeners, unless it was already announced.
+     * {@link #submit} and {@link #nextTurn} call this themselves; callers that need
+     * the announcement before asking for a move (e.g. to show the board to a human)
+     * may call it first.
+     */
+    public void startTurn() {
+        checkNotOver();
+        if (turnAnnounced) return;
+        turnAnnounced = true;
+        for (GameListener l : listeners) l.turnStarted(this, current());
+    }
+
+    /**
+     * Plays a move (or a pass) for the current player and moves on to the next turn.
+     * An illegal move changes nothing and the same player is still to move; the turn
+     * is announced again when they next submit, or earlier through {@link #startTurn}.
+     *
+     * @return points scored by the move (0 for a pass)
+     * @throws IllegalMoveException if the move is not legal here
+     */
+    public int submit(Move move) throws IllegalMoveException {
+        startTurn();
+        PlayerState player = current();
+        if (move.isPass()) {
+            pass(player);
+            return 0;
+        }
+        ValidatedMove vm;
+        try {
+            vm = validator.validate(board, player.rack(), move, firstMove);
+        } catch (IllegalMoveException e) {
+            turnAnnounced = false;
+            throw e;
+        }
+        applier.apply(board, player.rack(), vm);
+        ScoreBreakdown score = scorer.scoreMove(board, vm);
+        player.addScore(score.total());
+        bag.refillRack(player.rack(), RACK_SIZE);
+        firstMove = false;
+        consecutivePasses = 0;
+        for (GameListener l : listeners) l.movePlayed(this, player, move, vm, score);
+        endTurn();
+        return score.total();
+    }
+
+    /**
+     * Asks the current player's controller for a move and plays it. An illegal move
+     * from the controller is reported and counted as a pass, so a game driven only
+     * by this method always terminates.
+     *
+     * @return points scored by the move (0 for a pass)
+     */
+    public int nextTurn() {
+        startTurn();
+        PlayerController controller = controllers[current];
+        if (controller == null) throw new IllegalStateException("no controller for " + current().name());
+        PlayerState player = current();
+        boolean first = firstMove;
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        long begin = System.nanoTime();
+
+        Move move = controller.chooseMove(board, player.rack(), firstMove, consecutivePasses);
+        for (GameListener l : listeners) l.moveChosen(this, player, move);
+        int score;
+        try {
+            score = submit(move);
+        } catch (IllegalMoveException e) {
+            for (GameListener l : listeners) l.moveRejected(this, player, move, e.getMessage());
+            consecutivePasses++;
+            endTurn();
+            score = 0;
+        }
+
+        if (Metrics.enabled()) Metrics.histogram("turn." + controllerName(controller)).record(System.nanoTime() - begin);
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = player.name();
+            event.controller = controllerName(controller);
+            event.move = move.isPass() ? "pass" : move.wordRaw() + " " + move.start() + " " + move.direction();
+            event.score = score;
+            event.firstMove = first;
+            event.commit();
+        }
+        return score;
+    }
+
+    private static String controllerName(PlayerController controller) {
+        String name = controller.getClass().getSimpleName();
+        return name.isEmpty() ? controller.getClass().getName() : name;
+    }
+
+    /** Plays {@link #nextTurn} until the game is over. */
+    public void playToEnd() {
+        while (!over) nextTurn();
+    }
+
+    private void pass(PlayerState player) {
+        consecutivePasses++;
+        for (GameListener l : listeners) l.passed(this, player);
+        endTurn();
+    }
+
+    private void endTurn() {
+        turns++;
+        turnAnnounced = false;
+        if (isGameOver()) {
+            over = true;
+            for (int i = 0; i < 2; i++) {
+                penalties[i] = players[i].rack().totalValue();
+                players[i].addPenalty(penalties[i]);
+            }
+            for (GameListener l : listeners) l.gameEnded(this);
+        } else {
+            current = 1 - current;
+        }
+    }
+
+    private boolean isGameOver() {
+        if (bag.isEmpty() && (players[0].rack().isEmpty() || players[1].rack().isEmpty())) return true;
+        return consecutivePasses >= MAX_PASSES;
+    }
+
+    private void checkNotOver() {
+        if (over) throw new IllegalStateException("game is over");
+    }
+}
@@ -0,0 +1,186 @@
+package pij.record;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a binary game record (see {@link RecordFormat}) one event at a time.
+ *
+ * The reader is a cursor: {@link #next} decodes the next event into reused arrays
+ * and the accessors describe it until the following call, so reading allocates
+ * nothing per event (only {@link #word()} builds a string). Input is read through
+ * an internal buffer; there is no need to wrap the stream.
+ */
+public final class GameRecordReader implements Closeable {
+
+    /** Event types returned by {@link #next}. */
+    public static final int MOVE = RecordFormat.MOVE;
+    public static final int PASS = RecordFormat.PASS;
+    public static final int END = RecordFormat.END;
+    /** Returned by {@link #next} at the end of the record. */
+    public static final int NONE = 0;
+
+    private final InputStream in;
+    private final byte[] buf = new byte[8192];
+    private int pos;
+    private int limit;
+
+    private final long seed;
+    private final String boardRef;
+    private final int cols;
+    private final int rows;
+
+    private int type;
+    private int player;
+    private boolean down;
+    private int startRow;
+    private int startCol;
+    private char[] word = new char[16];
+    private int wordLength;
+    private int placements;
+    private int[] squares = new int[8];
+    private char[] letters = new char[8];
+    private int[] values = new int[8];
+    private int base;
+    private int wordMultiplier;
+    private int bingo;
+    private int total;
+    private final int[] penalties = new int[2];
+    private final int[] finalScores = new int[2];
+
+    /** Reads and checks the header. */
+    public GameRecordReader(InputStream in) throws IOException {
+        this.in = in;
+        for (byte b : RecordFormat.MAGIC) {
+            if (readByte() != b) throw new IOException("not a game record");
+        }
+        int version = (int) readVarint();
+        if (version != RecordFormat.VERSION) throw new IOException("unsupported record version " + version);
+        this.seed = RecordFormat.unzigzag(readVarint());
+        byte[] ref = new byte[(int) readVarint()];
+        for (int i = 0; i < ref.length; i++) ref[i] = (byte) readByte();
+        this.boardRef = new String(ref, StandardCharsets.UTF_8);
+        this.cols = (int) readVarint();
+        this.rows = (int) readVarint();
+    }
+
+    public long seed() { return seed; }
+    public String boardRef() { return boardRef; }
+    public int cols() { return cols; }
+    public int rows() { return rows; }
+
+    /**
+     * Decodes the next event.
+     *
+     * @return MOVE, PASS, END, or NONE at the end of the input
+     * @throws EOFException if the record stops in the middle of an event
+     * @throws IOException  if an event tag is not MOVE, PASS or END, including a 0 byte
+     */
+    public int next() throws IOException {
+        if (!fill()) {
+            type = NONE;
+            return NONE;
+        }
+        int tag = buf[pos++];
+        switch (tag) {
+            case RecordFormat.MOVE -> readMove();
+            case RecordFormat.PASS -> player = readByte();
+            case RecordFormat.END -> {
+                penalties[0] = (int) readVarint();
+                penalties[1] = (int) readVarint();
+                finalScores[0] = (int) RecordFormat.unzigzag(readVarint());
+                finalScores[1] = (int) RecordFormat.unzigzag(readVarint());
+            }
+            default -> throw new IOException("corrupt record: unknown event " + tag);
+        }
+        type = tag;
+        return tag;
+    }
+
+    /** Type of the current event. */
+    public int type() { return type; }
+    /** Player (0 or 1) of the current MOVE or PASS. */
+    public int player() { return player; }
+
+    // current MOVE
+    public boolean isDown() { return down; }
+    public int startRow() { return startRow; }
+    public int startCol() { return startCol; }
+    public int wordLength() { return wordLength; }
+    public char wordChar(int i) { return word[i]; }
+    public String word() { return new String(word, 0, wordLength); }
+    public int placementCount() { return placements; }
+    public int placementRow(int i) { return squares[i] / cols; }
+    public int placementCol(int i) { return squares[i] % cols; }
+    /** Letter shown on the square: upper case, or lower case for a wildcard. */
+    public char placementLetter(int i) { return letters[i]; }
+    public int placementValue(int i) { return values[i]; }
+    public int base() { return base; }
+    public int wordMultiplier() { return wordMultiplier; }
+    public int bingoBonus() { return bingo; }
+    public int total() { return total; }
+
+    // current END
+    public int penalty(int player) { return penalties[player]; }
+    public int finalScore(int player) { return finalScores[player]; }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readMove() throws IOException {
+        player = readByte();
+        down = readByte() == 1;
+        startRow = (int) readVarint();
+        startCol = (int) readVarint();
+        wordLength = (int) readVarint();
+        if (wordLength > word.length) word = new char[Math.max(wordLength, 2 * word.length)];
+        for (int i = 0; i < wordLength; i++) word[i] = (char) readByte();
+        placements = (int) readVarint();
+        if (placements > squares.length) {
+            int n = Math.max(placements, 2 * squares.length);
+            squares = Arrays.copyOf(squares, n);
+            letters = Arrays.copyOf(letters, n);
+            values = Arrays.copyOf(values, n);
+        }
+        for (int i = 0; i < placements; i++) {
+            squares[i] = (int) readVarint();
+            letters[i] = (char) readByte();
+            values[i] = (int) readVarint();
+        }
+        base = (int) RecordFormat.unzigzag(readVarint());
+        wordMultiplier = (int) RecordFormat.unzigzag(readVarint());
+        bingo = (int) readVarint();
+        total = (int) RecordFormat.unzigzag(readVarint());
+    }
+
+    /** True if a byte is available, refilling the buffer if needed. */
+    private boolean fill() throws IOException {
+        if (pos < limit) return true;
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private int readByte() throws IOException {
+        if (!fill()) throw new EOFException("record ends inside an event");
+        return buf[pos++] & 0xFF;
+    }
+
+    private long readVarint() throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("corrupt record: varint too long");
+    }
+}
@@ -0,0 +1,58 @@
+package pij.record;
+
+import java.io.IOException;
+
+/**
+ * Text form of game records, one event per line, for reading and diffing logs:
+ *
+ * <pre>
+ * # seed 42 board /defaultBoard.txt 16x14
+ * move 0 SNoW,d7 RIGHT d7=S1 e7=n8 f7=O1 g7=W4 14*2+0=28
+ * pass 1
+ * end penalties 4 0 scores 483 646
+ * </pre>
+ *
+ * Squares are written as in the game, column letter then row number.
+ */
+public final class GameRecordText {
+
+    private GameRecordText() {}
+
+    /** Writes the remaining events of a record as text. */
+    public static void print(GameRecordReader in, Appendable out) throws IOException {
+        out.append("# seed ").append(Long.toString(in.seed()))
+                .append(" board ").append(in.boardRef())
+                .append(' ').append(Integer.toString(in.cols())).append('x').append(Integer.toString(in.rows()))
+                .append('\n');
+        for (int type = in.next(); type != GameRecordReader.NONE; type = in.next()) {
+            switch (type) {
+                case GameRecordReader.MOVE -> {
+                    out.append("move ").append((char) ('0' + in.player())).append(' ');
+                    for (int i = 0; i < in.wordLength(); i++) out.append(in.wordChar(i));
+                    out.append(',');
+                    square(out, in.startRow(), in.startCol());
+                    out.append(in.isDown() ? " DOWN" : " RIGHT");
+                    for (int i = 0; i < in.placementCount(); i++) {
+                        out.append(' ');
+                        square(out, in.placementRow(i), in.placementCol(i));
+                        out.append('=').append(in.placementLetter(i)).append(Integer.toString(in.placementValue(i)));
+                    }
+                    out.append(' ').append(Integer.toString(in.base()))
+                            .append('*').append(Integer.toString(in.wordMultiplier()))
+                            .append('+').append(Integer.toString(in.bingoBonus()))
+                            .append('=').append(Integer.toString(in.total()));
+                }
+                case GameRecordReader.PASS -> out.append("pass ").append((char) ('0' + in.player()));
+                default -> out.append("end penalties ").append(Integer.toString(in.penalty(0)))
+                        .append(' ').append(Integer.toString(in.penalty(1)))
+                        .append(" scores ").append(Integer.toString(in.finalScore(0)))
+                        .append(' ').append(Integer.toString(in.finalScore(1)));
+            }
+            out.append('\n');
+        }
+    }
+
+    private static void square(Appendable out, int row, int col) throws IOException {
+        out.append((char) ('a' + col)).append(Integer.toString(row + 1));
+    }
+}
@@ -0,0 +1,155 @@
+package pij.record;
+
+import pij.board.Board;
+import pij.board.Direction;
+import pij.game.Placement;
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.play.GameListener;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.score.ScoreBreakdown;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Appends a game to a binary record (see {@link RecordFormat}) as it is played.
+ * Add it to a {@link GameSession} as a listener, or call the write methods directly.
+ *
+ * Each event is encoded into a reused buffer and handed to the stream in one write,
+ * so a record cut short by a crash ends on an event boundary as long as the stream
+ * writes whole buffers. Wrap files in a {@link java.io.BufferedOutputStream} when
+ * many small games go to one stream.
+ */
+public final class GameRecordWriter implements GameListener, Closeable {
+
+    private final OutputStream out;
+    private final int cols;
+    private byte[] buf = new byte[256];
+    private int pos;
+
+    /**
+     * Writes the header.
+     *
+     * @param seed     seed the game's tile bag was shuffled with
+     * @param boardRef where the board came from, e.g. a file path or "/defaultBoard.txt"
+     * @param board    the board the game is played on (its size is recorded)
+     */
+    public GameRecordWriter(OutputStream out, long seed, String boardRef, Board board) throws IOException {
+        this.out = out;
+        this.cols = board.cols();
+        for (byte b : RecordFormat.MAGIC) put(b);
+        putVarint(RecordFormat.VERSION);
+        putVarint(RecordFormat.zigzag(seed));
+        byte[] ref = boardRef.getBytes(StandardCharsets.UTF_8);
+        putVarint(ref.length);
+        for (byte b : ref) put(b);
+        putVarint(board.cols());
+        putVarint(board.rows());
+        flushEvent();
+    }
+
+    public void writeMove(int player, Move move, ValidatedMove placed, ScoreBreakdown score) throws IOException {
+        put(RecordFormat.MOVE);
+        put(player);
+        put(move.direction() == Direction.DOWN ? 1 : 0);
+        putVarint(move.start().row());
+        putVarint(move.start().col());
+        putWord(move.wordRaw());
+        List<Placement> placements = placed.placements();
+        putVarint(placements.size());
+        for (Placement p : placements) {
+            putVarint((long) p.square().row() * cols + p.square().col());
+            put(p.tile().displayChar());
+            putVarint(p.tile().value());
+        }
+        putVarint(RecordFormat.zigzag(score.baseBeforeWordMultiplier()));
+        putVarint(RecordFormat.zigzag(score.wordMultiplier()));
+        putVarint(score.bingoBonus());
+        putVarint(RecordFormat.zigzag(score.total()));
+        flushEvent();
+    }
+
+    public void writePass(int player) throws IOException {
+        put(RecordFormat.PASS);
+        put(player);
+        flushEvent();
+    }
+
+    public void writeEnd(int penalty1, int penalty2, int score1, int score2) throws IOException {
+        put(RecordFormat.END);
+        putVarint(penalty1);
+        putVarint(penalty2);
+        putVarint(RecordFormat.zigzag(score1));
+        putVarint(RecordFormat.zigzag(score2));
+        flushEvent();
+    }
+
+    @Override
+    public void movePlayed(GameSession session, PlayerState player, Move move, ValidatedMove placed, ScoreBreakdown score) {
+        try {
+            writeMove(session.currentIndex(), move, placed, score);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void passed(GameSession session, PlayerState player) {
+        try {
+            writePass(session.currentIndex());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The rejected move is played as a pass, so that is what is recorded. */
+    @Override
+    public void moveRejected(GameSession session, PlayerState player, Move move, String reason) {
+        passed(session, player);
+    }
+
+    @Override
+    public void gameEnded(GameSession session) {
+        try {
+            writeEnd(session.penalty(0), session.penalty(1), session.player(0).score(), session.player(1).score());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void put(int b) {
+        if (pos == buf.length) buf = Arrays.copyOf(buf, 2 * buf.length);
+        buf[pos++] = (byte) b;
+    }
+
+    private void putVarint(long v) {
+        while ((v & ~0x7FL) != 0) {
+            put((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        put((int) v);
+    }
+
+    private void putWord(String s) {
+        putVarint(s.length());
+        for (int i = 0; i < s.length(); i++) put(s.charAt(i));
+    }
+
+    private void flushEvent() throws IOException {
+        out.write(buf, 0, pos);
+        pos = 0;
+    }
+}
@@ -0,0 +1,93 @@
+package pij.record;
+
+import pij.board.Board;
+import pij.board.Square;
+import pij.game.MoveApplier;
+import pij.game.Placement;
+import pij.game.ValidatedMove;
+import pij.score.ScoreBreakdown;
+import pij.score.Scorer;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays recorded games onto a board. Logs are trusted: moves are not validated
+ * against the dictionary or the placement rules, only applied through
+ * {@link MoveApplier} and scored by {@link Scorer}. A score that differs from the
+ * recorded one means the log does not belong to the board (or is corrupt) and
+ * stops the replay. Reuse one replayer for many games; it is not thread-safe.
+ */
+public final class GameReplayer {
+
+    private final MoveApplier applier = new MoveApplier();
+    private final Scorer scorer = new Scorer();
+    private final Rack noRack = new Rack(); // tiles come from the record, not from a rack
+    private final List<Placement> placements = new ArrayList<>();
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param score1 final score of the first player, after the penalties if the record has an END event
+     * @param score2 final score of the second player, likewise
+     * @param moves  moves replayed
+     * @param passes passes replayed
+     * @param ended  whether the record ends with the end of the game
+     */
+    public record Replay(int score1, int score2, int moves, int passes, boolean ended) {}
+
+    /**
+     * Replays the remaining events of a record onto a board, which must be of the
+     * recorded size and hold the position the record starts from (normally empty).
+     *
+     * @throws IllegalStateException if a move scores differently from the record
+     */
+    public Replay replay(GameRecordReader in, Board board) throws IOException {
+        if (board.cols() != in.cols() || board.rows() != in.rows()) {
+            throw new IllegalArgumentException("record is for a " + in.cols() + "x" + in.rows() + " board");
+        }
+        int[] scores = new int[2];
+        int moves = 0;
+        int passes = 0;
+        boolean ended = false;
+        for (int type = in.next(); type != GameRecordReader.NONE; type = in.next()) {
+            if (type == GameRecordReader.MOVE) {
+                ScoreBreakdown s = applyMove(in, board);
+                if (s.total() != in.total()) {
+                    throw new IllegalStateException("move " + (moves + passes + 1) + " scores " + s.total()
+                            + ", record says " + in.total());
+                }
+                scores[in.player()] += s.total();
+                moves++;
+            } else if (type == GameRecordReader.PASS) {
+                passes++;
+            } else {
+                scores[0] -= in.penalty(0);
+                scores[1] -= in.penalty(1);
+                ended = true;
+            }
+        }
+        return new Replay(scores[0], scores[1], moves, passes, ended);
+    }
+
+    private ScoreBreakdown applyMove(GameRecordReader in, Board board) {
+        placements.clear();
+        for (int i = 0; i < in.placementCount(); i++) {
+            char shown = in.placementLetter(i);
+            Tile tile;
+            if (Character.isLowerCase(shown)) {
+                tile = Tile.wildcard();
+                tile.chooseLetter(shown);
+            } else {
+                tile = Tile.normal(shown, in.placementValue(i));
+            }
+            placements.add(new Placement(new Square(in.placementRow(i), in.placementCol(i)), tile));
+        }
+        ValidatedMove vm = new ValidatedMove(in.word(), placements);
+        applier.apply(board, noRack, vm);
+        return scorer.scoreMove(board, vm);
+    }
+}
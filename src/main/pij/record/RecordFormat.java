@@ -0,0 +1,39 @@
+package pij.record;
+
+/**
+ * Layout of binary game records.
+ *
+ * A record is a header followed by events, each starting with a tag byte. Integers
+ * are unsigned LEB128 varints; values that may be negative (scores, factors) are
+ * zigzag-encoded first. Strings are a varint length and their bytes: UTF-8 for the
+ * board reference, one byte per letter for words.
+ *
+ * <pre>
+ * header: 'P' 'I' 'J' 'R', version, seed (zigzag), board reference, cols, rows
+ * MOVE:   tag, player, direction (0 RIGHT, 1 DOWN), start row, start col, word,
+ *         placement count, per placement: square index (row * cols + col), shown letter
+ *         (upper case, lower case for a wildcard), tile value;
+ *         then base (zigzag), word multiplier (zigzag), bingo bonus, total (zigzag)
+ * PASS:   tag, player
+ * END:    tag, penalty of each player, final score of each player (zigzag)
+ * </pre>
+ */
+final class RecordFormat {
+
+    static final byte[] MAGIC = {'P', 'I', 'J', 'R'};
+    static final int VERSION = 1;
+
+    static final int MOVE = 1;
+    static final int PASS = 2;
+    static final int END = 3;
+
+    private RecordFormat() {}
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
@@ -1,34 +1,38 @@
 package pij.score;
 
 import pij.board.Board;
-import pij.board.Cell;
 import pij.board.CellType;
+import pij.board.Direction;
 import pij.game.Placement;
 import pij.game.ValidatedMove;
-import pij.tiles.Tile;
+import pij.game.ValidationResult;
+import pij.metrics.Histogram;
+import pij.metrics.Metrics;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public final class Scorer {
 
+    private static final Histogram LATENCY = Metrics.histogram("score.move");
+
     /**
      * Computes the score for a validated move, according to the coursework rules.
      * Premiums apply only to newly placed tiles (placements).
      */
     public ScoreBreakdown scoreMove(Board board, ValidatedMove vm) {
+        if (!Metrics.enabled()) return score(board, vm);
+        long begin = System.nanoTime();
+        ScoreBreakdown s = score(board, vm);
+        LATENCY.record(System.nanoTime() - begin);
+        return s;
+    }
+
+    private ScoreBreakdown score(Board board, ValidatedMove vm) {
         List<Placement> placements = vm.placements();
         if (placements.isEmpty()) {
             return new ScoreBreakdown(0, 1, 0, 0); // pass yields 0
         }
 
-        // Map placements by square for quick lookup
-        Map<String, Tile> placed = new HashMap<>();
-        for (Placement p : placements) {
-            placed.put(key(p.square().row(), p.square().col()), p.tile());
-        }
-
         // Compute base sum for all letters in the main word AFTER the move.
         // We reconstruct by scanning along the word direction using the board state AFTER apply,
         // OR (simpler for now) require scoring is called BEFORE apply and use "afterMove" logic.
@@ -55,18 +59,16 @@ public final class Scorer {
         int r = line.startRow;
         int c = line.startCol;
         for (int i = 0; i < vm.mainWord().length(); i++) {
-            Cell cell = board.cellAt(r, c);
-            Tile tile = cell.tile(); // must exist after apply
-            int letterValue = tile.value();
+            int letterValue = board.valueAt(r, c); // tile must exist after apply
 
             // letter premium only if THIS square was newly placed this move
-            Tile newlyPlaced = placed.get(key(r, c));
-            if (newlyPlaced != null) {
-                if (cell.type() == CellType.LETTER_PREMIUM) {
-                    letterValue *= cell.factor();
+            if (isPlaced(placements, r, c)) {
+                CellType type = board.typeAt(r, c);
+                if (type == CellType.LETTER_PREMIUM) {
+                    letterValue *= board.factorAt(r, c);
                 }
-                if (cell.type() == CellType.WORD_PREMIUM) {
-                    wordMultiplier *= cell.factor();
+                if (type == CellType.WORD_PREMIUM) {
+                    wordMultiplier *= board.factorAt(r, c);
                 }
             }
 
@@ -84,7 +86,64 @@ public final class Scorer {
         return new ScoreBreakdown(baseSum, wordMultiplier, bingoBonus, total);
     }
 
-    private static String key(int r, int c) { return r + "," + c; }
+    /**
+     * Scores a move checked by {@link pij.game.MoveValidator#check} before it is applied.
+     * The board is only read: squares the move fills take the planned tile values.
+     * Gives the same breakdown as {@link #scoreMove} after applying the move.
+     */
+    public ScoreBreakdown scoreBeforeApply(Board board, ValidationResult checked) {
+        int placed = checked.placementCount();
+        if (placed == 0) {
+            return new ScoreBreakdown(0, 1, 0, 0);
+        }
+        long packed = walkMainWord(board, checked);
+        int baseSum = (int) (packed >>> 32);
+        int wordMultiplier = (int) packed;
+        int bingoBonus = (placed == 7) ? 60 : 0;
+        return new ScoreBreakdown(baseSum, wordMultiplier, bingoBonus, baseSum * wordMultiplier + bingoBonus);
+    }
+
+    /** Total of {@link #scoreBeforeApply} without allocating a breakdown, for ranking many candidates. */
+    public int totalBeforeApply(Board board, ValidationResult checked) {
+        int placed = checked.placementCount();
+        if (placed == 0) return 0;
+        long packed = walkMainWord(board, checked);
+        return (int) (packed >>> 32) * (int) packed + ((placed == 7) ? 60 : 0);
+    }
+
+    /** Base sum (high 32 bits) and word multiplier (low 32 bits) of the main word after the move. */
+    private static long walkMainWord(Board board, ValidationResult checked) {
+        boolean right = checked.direction() == Direction.RIGHT;
+        int r = checked.wordRow();
+        int c = checked.wordCol();
+        int next = 0; // next planned tile; planned tiles are in word order
+        int wordMultiplier = 1;
+        int baseSum = 0;
+        for (int i = 0; i < checked.wordLength(); i++) {
+            if (board.isEmptyAt(r, c)) {
+                int letterValue = checked.placementValue(next++);
+                CellType type = board.typeAt(r, c);
+                if (type == CellType.LETTER_PREMIUM) {
+                    letterValue *= board.factorAt(r, c);
+                }
+                if (type == CellType.WORD_PREMIUM) {
+                    wordMultiplier *= board.factorAt(r, c);
+                }
+                baseSum += letterValue;
+            } else {
+                baseSum += board.valueAt(r, c);
+            }
+            if (right) c++; else r++;
+        }
+        return ((long) baseSum << 32) | (wordMultiplier & 0xFFFFFFFFL);
+    }
+
+    private static boolean isPlaced(List<Placement> placements, int r, int c) {
+        for (Placement p : placements) {
+            if (p.square().row() == r && p.square().col() == c) return true;
+        }
+        return false;
+    }
 
     /**
      * Represents the main word line direction and starting square.
@@ -106,6 +165,13 @@ public final class Scorer {
             if (placements.isEmpty()) throw new IllegalArgumentException("no placements");
 
             boolean sameRow = placements.stream().allMatch(p -> p.square().row() == placements.get(0).square().row());
+            if (placements.size() == 1) {
+                // one tile lies in both lines; a legal move makes a word in only one of them
+                int r0 = placements.get(0).square().row();
+                int c0 = placements.get(0).square().col();
+                sameRow = (board.inBounds(r0, c0 - 1) && !board.isEmptyAt(r0, c0 - 1))
+                        || (board.inBounds(r0, c0 + 1) && !board.isEmptyAt(r0, c0 + 1));
+            }
             int dr = sameRow ? 0 : 1;
             int dc = sameRow ? 1 : 0;
 
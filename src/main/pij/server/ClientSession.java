@@ -0,0 +1,205 @@
+package pij.server;
+
+import pij.ai.GreedyComputer;
+import pij.board.Board;
+import pij.game.IllegalMoveException;
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.move.MoveFormatException;
+import pij.move.MoveParser;
+import pij.play.GameListener;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.score.ScoreBreakdown;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** One connection of a {@link GameServer}: reads commands and plays games until the client leaves. */
+final class ClientSession implements Runnable {
+
+    private static final int CLIENT = 0;
+    private static final int COMPUTER = 1;
+
+    private final GameServer server;
+    private final Socket socket;
+    private final MoveParser parser = new MoveParser();
+    private final StringBuilder line = new StringBuilder();
+    private BufferedReader in;
+    private Writer out;
+
+    ClientSession(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        try (socket) {
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII),
+                    GameServer.IO_BUFFER);
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII),
+                    GameServer.IO_BUFFER);
+            send("HELLO SCRAEBBKLE 1 " + String.join(",", server.templates().keySet()));
+            out.flush();
+            for (String cmd = readLine(); cmd != null; cmd = readLine()) {
+                if (cmd.equals("QUIT")) {
+                    send("BYE");
+                    break;
+                }
+                if (cmd.equals("NEW") || cmd.startsWith("NEW ")) {
+                    String name = cmd.length() > 4 ? cmd.substring(4).trim() : server.defaultBoard();
+                    if (!play(name)) break;
+                } else {
+                    send("ERR expected NEW or QUIT");
+                }
+                out.flush();
+            }
+            out.flush();
+        } catch (IOException | UncheckedIOException e) {
+            // connection lost: the game is dropped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Plays one game against the computer.
+     *
+     * @return false if the client left during the game
+     */
+    private boolean play(String boardName) throws IOException, InterruptedException {
+        Board template = server.templates().get(boardName);
+        if (template == null) {
+            send("ERR unknown board " + boardName);
+            return true;
+        }
+        if (GameServer.estimatedGameBytes(template) > server.maxEstimatedGameBytes()) {
+            send("ERR board too large for this server");
+            return true;
+        }
+
+        Board board = template.fork();
+        GameSession game = new GameSession(board, server.dictionary(),
+                new TileBag(TileBag.defaultTiles(), new Random(ThreadLocalRandom.current().nextLong())),
+                new PlayerState("Client"), null, new PlayerState("Computer"), new GreedyComputer(server.dictionary()));
+        game.addListener(new Reporter());
+        send("GAME " + board.cols() + " " + board.rows() + " "
+                + (char) ('a' + board.startSquare().col()) + (board.startSquare().row() + 1));
+
+        while (!game.isOver()) {
+            if (game.currentIndex() == COMPUTER) {
+                server.thinking().acquire();
+                try {
+                    game.nextTurn();
+                } finally {
+                    server.thinking().release();
+                }
+                continue;
+            }
+            sendState(game);
+            if (!clientTurn(game)) return false;
+        }
+        send("END " + game.player(CLIENT).score() + " " + game.player(COMPUTER).score());
+        return true;
+    }
+
+    /** Reads moves until one is accepted; false if the client left. */
+    private boolean clientTurn(GameSession game) throws IOException {
+        while (true) {
+            send("TURN");
+            out.flush();
+            String text = readLine();
+            if (text == null) return false;
+            if (text.equals("QUIT")) {
+                send("BYE");
+                return false;
+            }
+            try {
+                game.submit(parser.parse(text, game.board().cols(), game.board().rows()));
+                out.flush(); // the verdict goes out before the computer starts thinking
+                return true;
+            } catch (MoveFormatException e) {
+                send("ERR Illegal move format");
+            } catch (IllegalMoveException e) {
+                send("ERR " + e.getMessage());
+            }
+        }
+    }
+
+    private void sendState(GameSession game) throws IOException {
+        send("STATE " + game.player(CLIENT).score() + " " + game.player(COMPUTER).score() + " " + game.bag().size());
+        Board b = game.board();
+        StringBuilder sb = new StringBuilder(6 + b.rows() * b.cols()).append("BOARD ");
+        for (int r = 0; r < b.rows(); r++) {
+            for (int c = 0; c < b.cols(); c++) {
+                sb.append(b.isEmptyAt(r, c) ? '.' : b.isWildcardAt(r, c) ? Character.toLowerCase(b.letterAt(r, c)) : b.letterAt(r, c));
+            }
+        }
+        send(sb.toString());
+        sb.setLength(0);
+        sb.append("RACK ");
+        for (Tile t : game.player(CLIENT).rack().tilesView()) sb.append(t.letter());
+        send(sb.toString());
+    }
+
+    /** Reports both players' moves to the client. */
+    private final class Reporter implements GameListener {
+        @Override
+        public void movePlayed(GameSession session, PlayerState player, Move move, ValidatedMove placed, ScoreBreakdown score) {
+            sendUnchecked("PLAYED " + (session.currentIndex() + 1) + " " + parser.format(move) + " " + score.total());
+        }
+
+        @Override
+        public void passed(GameSession session, PlayerState player) {
+            sendUnchecked("PASSED " + (session.currentIndex() + 1));
+        }
+
+        @Override
+        public void moveRejected(GameSession session, PlayerState player, Move move, String reason) {
+            passed(session, player); // counted as a pass
+        }
+    }
+
+    private void send(String s) throws IOException {
+        out.write(s);
+        out.write('\n');
+    }
+
+    private void sendUnchecked(String s) {
+        try {
+            send(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Next line without its terminator, or null at end of input; over-long lines end the connection. */
+    private String readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            int ch = in.read();
+            if (ch < 0) return line.length() == 0 ? null : line.toString();
+            if (ch == '\n') break;
+            if (ch == '\r') continue;
+            if (line.length() == server.maxLineLength()) {
+                send("ERR line too long");
+                out.flush();
+                return null;
+            }
+            line.append((char) ch);
+        }
+        return line.toString().trim();
+    }
+}
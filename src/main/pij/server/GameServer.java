@@ -0,0 +1,211 @@
+package pij.server;
+
+import pij.board.Board;
+import pij.board.BoardLoader;
+import pij.board.InvalidBoardFileException;
+import pij.dict.WordList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many games at once, each played by a client over a socket against a
+ * computer player. Every connection is served by its own virtual thread; all
+ * sessions share one {@link WordList} and fork their boards from empty templates.
+ *
+ * The protocol is line-based ASCII. Moves use the console syntax of
+ * {@link pij.move.MoveParser} ("HI,f4" down, "HI,4f" right, "," to pass).
+ * <pre>
+ * S: HELLO SCRAEBBKLE 1 &lt;board&gt;[,&lt;board&gt;...]
+ * C: NEW [&lt;board&gt;]           S: GAME &lt;cols&gt; &lt;rows&gt; &lt;start square&gt;
+ * on the client's turn      S: STATE &lt;your score&gt; &lt;opponent score&gt; &lt;tiles in bag&gt;
+ *                           S: BOARD &lt;rows*cols characters, '.' for empty, row by row&gt;
+ *                           S: RACK &lt;letters, '_' for a wildcard&gt;
+ *                           S: TURN
+ * C: &lt;move&gt;                S: PLAYED 1 &lt;move&gt; &lt;points&gt; | PASSED 1 | ERR &lt;reason&gt; then TURN again
+ * the computer's reply      S: PLAYED 2 &lt;move&gt; &lt;points&gt; | PASSED 2
+ * at the end                S: END &lt;your score&gt; &lt;opponent score&gt;
+ * C: QUIT                   S: BYE
+ * </pre>
+ *
+ * Backpressure: at most {@code maxSessions} connections are served; a connection
+ * that finds no free slot within a short wait gets {@code ERR busy} and is closed.
+ * The wait happens on the connection's own thread, so the accept loop never
+ * blocks. Computer moves are CPU-bound, so at most one per processor is searched
+ * at a time and the rest wait.
+ *
+ * Per connection, input lines longer than {@code maxLineLength} end the connection
+ * and the reader and writer buffers have a fixed size; no history is kept between
+ * turns. A game is only started if {@link #estimatedGameBytes} for its board is at
+ * most {@code maxEstimatedGameBytes}. That is an admission check on the board's
+ * size, not a bound on what the game allocates while it runs, e.g. the computer
+ * player's move lists.
+ */
+public final class GameServer implements Closeable {
+
+    /** Size of each connection's input and output buffers, in chars. */
+    static final int IO_BUFFER = 1024;
+    private static final long SLOT_WAIT_MILLIS = 100;
+
+    private final WordList dict;
+    private final Map<String, Board> templates;
+    private final String defaultBoard;
+    private final int maxLineLength;
+    private final long maxEstimatedGameBytes;
+    private final int maxSessions;
+    private final Semaphore sessions;
+    private final Semaphore thinking = new Semaphore(Runtime.getRuntime().availableProcessors());
+
+    private ServerSocket socket;
+    private Thread acceptor;
+    private volatile boolean closed;
+
+    /**
+     * @param templates             empty boards by name, listed to clients in the map's order;
+     *                              the first is used when NEW names none
+     * @param maxSessions           most connections served at a time
+     * @param maxLineLength         longest accepted input line, in chars
+     * @param maxEstimatedGameBytes largest {@link #estimatedGameBytes} of a board a game may be started on
+     */
+    public GameServer(WordList dict, Map<String, Board> templates, int maxSessions, int maxLineLength,
+                      long maxEstimatedGameBytes) {
+        if (templates.isEmpty()) throw new IllegalArgumentException("no board templates");
+        if (maxSessions < 1 || maxLineLength < 2) throw new IllegalArgumentException("limits too small");
+        for (Board b : templates.values()) {
+            if (!b.isEmpty()) throw new IllegalArgumentException("board templates must be empty");
+        }
+        this.dict = dict;
+        this.templates = Collections.unmodifiableMap(new LinkedHashMap<>(templates));
+        this.defaultBoard = this.templates.keySet().iterator().next();
+        this.maxLineLength = maxLineLength;
+        this.maxEstimatedGameBytes = maxEstimatedGameBytes;
+        this.maxSessions = maxSessions;
+        this.sessions = new Semaphore(maxSessions);
+    }
+
+    /** Listens on the loopback interface; port 0 picks a free port. */
+    public void start(int port) throws IOException {
+        if (socket != null) throw new IllegalStateException("already started");
+        socket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        acceptor = Thread.ofVirtual().name("game-server-accept").start(this::acceptLoop);
+    }
+
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    /** Connections being served right now. */
+    public int activeSessions() {
+        return maxSessions - sessions.availablePermits();
+    }
+
+    WordList dictionary() { return dict; }
+    Map<String, Board> templates() { return templates; }
+    String defaultBoard() { return defaultBoard; }
+    int maxLineLength() { return maxLineLength; }
+    long maxEstimatedGameBytes() { return maxEstimatedGameBytes; }
+    Semaphore thinking() { return thinking; }
+
+    /**
+     * Rough bytes used by one game on a board: the board's per-square arrays, the
+     * computer player's cross-check cache, tiles and racks, and the connection's
+     * buffers. An estimate from the board's size, used to admit games.
+     */
+    public static long estimatedGameBytes(Board template) {
+        long squares = (long) template.rows() * template.cols();
+        long board = squares * (1 + 1 + 1 + 4 + 8) + 16L * (template.rows() + 2L * template.cols());
+        long crossChecks = squares * (4 + 4) + 8L * (template.rows() * 3L + template.cols() * 2L);
+        long tiles = 100 * 32;
+        long io = 2L * IO_BUFFER * 2 + 8192;
+        return board + crossChecks + tiles + io + 4096;
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            Socket s;
+            try {
+                s = socket.accept();
+            } catch (IOException e) {
+                if (closed) return;
+                continue;
+            }
+            Thread.ofVirtual().start(() -> serve(s));
+        }
+    }
+
+    /** Waits briefly for a session slot on the connection's own thread, then plays or refuses. */
+    private void serve(Socket s) {
+        boolean admitted;
+        try {
+            admitted = sessions.tryAcquire(SLOT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            closeQuietly(s);
+            return;
+        }
+        if (!admitted) {
+            refuse(s);
+            return;
+        }
+        try {
+            new ClientSession(this, s).run();
+        } finally {
+            sessions.release();
+        }
+    }
+
+    private static void refuse(Socket s) {
+        try (s) {
+            OutputStream out = s.getOutputStream();
+            out.write("ERR busy\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        } catch (IOException ignored) {
+            // the client is gone either way
+        }
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Stops accepting connections; sessions in progress end when their sockets do. */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (socket != null) socket.close();
+    }
+
+    /**
+     * Runs a server on the default board.
+     * Usage: {@code java pij.server.GameServer [port] [maxSessions]} (defaults 7777 and 10000).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        GameServer server = new GameServer(WordList.fromResource("/wordlist.txt"), Map.of("default", defaultTemplate()),
+                maxSessions, 256, 1 << 20);
+        server.start(port);
+        System.out.println("Listening on port " + server.port());
+        server.acceptor.join();
+    }
+
+    static Board defaultTemplate() throws IOException {
+        try {
+            return new BoardLoader().loadResource("/defaultBoard.txt");
+        } catch (InvalidBoardFileException e) {
+            throw new IOException("Default board is invalid", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package pij.server;
+
+import pij.ai.GreedyComputer;
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.move.Move;
+import pij.move.MoveParser;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+import pij.tournament.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link GameServer}: many clients on virtual threads, each
+ * playing whole games with a greedy player of its own. A client keeps no game
+ * state besides what the server sends each turn; it rebuilds the position from
+ * the BOARD and RACK lines (tile values from the default tile set) and picks its
+ * move on that copy.
+ *
+ * Move latency is measured from sending a move to the server's verdict on it
+ * (PLAYED, PASSED or ERR); turn latency runs on to the next TURN or END, so it
+ * also includes the computer's reply.
+ *
+ * Usage: {@code java pij.server.LoadGenerator [clients] [gamesPerClient] [port]};
+ * without a port an in-process server is started on a free loopback port.
+ */
+public final class LoadGenerator {
+
+    /**
+     * Totals of a run.
+     *
+     * @param games        games finished
+     * @param moves        moves and passes sent
+     * @param rejected     moves the server rejected
+     * @param elapsedNanos wall time of the run
+     */
+    public record Report(int games, long moves, long rejected, long elapsedNanos,
+                         LatencyHistogram moveLatency, LatencyHistogram turnLatency) {
+
+        public double gamesPerSecond() {
+            return games / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games, %d moves (%d rejected) in %.1f s: %.1f games/s, %.1f games/s per core%n"
+                            + "move latency p50 %.3f ms p99 %.3f ms; turn latency p50 %.3f ms p99 %.3f ms",
+                    games, moves, rejected, elapsedNanos / 1e9, gamesPerSecond(),
+                    gamesPerSecond() / Runtime.getRuntime().availableProcessors(),
+                    moveLatency.percentile(0.5) / 1e6, moveLatency.percentile(0.99) / 1e6,
+                    turnLatency.percentile(0.5) / 1e6, turnLatency.percentile(0.99) / 1e6);
+        }
+    }
+
+    private final WordList dict;
+    private final Board template;
+    private final int[] values = new int[26];
+
+    /** @param template the empty board the server's games are played on */
+    public LoadGenerator(WordList dict, Board template) {
+        this.dict = dict;
+        this.template = template;
+        for (Tile t : TileBag.defaultTiles()) {
+            if (!t.isWildcard()) values[t.letter() - 'A'] = t.value();
+        }
+    }
+
+    /** Runs the clients against a server on the loopback interface and waits for them. */
+    public Report run(int port, int clients, int gamesPerClient) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Client>> done = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                done.add(executor.submit(() -> {
+                    Client c = new Client();
+                    c.play(port, gamesPerClient);
+                    return c;
+                }));
+            }
+        }
+        int games = 0;
+        long moves = 0;
+        long rejected = 0;
+        LatencyHistogram moveLatency = new LatencyHistogram();
+        LatencyHistogram turnLatency = new LatencyHistogram();
+        for (Future<Client> f : done) {
+            Client c = f.get();
+            games += c.games;
+            moves += c.moves;
+            rejected += c.rejected;
+            moveLatency.merge(c.moveLatency);
+            turnLatency.merge(c.turnLatency);
+        }
+        return new Report(games, moves, rejected, System.nanoTime() - start, moveLatency, turnLatency);
+    }
+
+    /** One connection; used by a single virtual thread. */
+    private final class Client {
+        final LatencyHistogram moveLatency = new LatencyHistogram();
+        final LatencyHistogram turnLatency = new LatencyHistogram();
+        final GreedyComputer player = new GreedyComputer(dict);
+        final MoveParser parser = new MoveParser();
+        int games;
+        long moves;
+        long rejected;
+
+        void play(int port, int gamesToPlay) throws IOException {
+            try (Socket s = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                s.setTcpNoDelay(true);
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+                Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII));
+                String hello = in.readLine();
+                if (hello == null || !hello.startsWith("HELLO")) throw new IOException("server refused: " + hello);
+                for (int g = 0; g < gamesToPlay; g++) {
+                    out.write("NEW\n");
+                    out.flush();
+                    playGame(in, out);
+                    games++;
+                }
+                out.write("QUIT\n");
+                out.flush();
+            }
+        }
+
+        private void playGame(BufferedReader in, Writer out) throws IOException {
+            String boardLine = null;
+            String rackLine = null;
+            boolean passNext = false;
+            long sent = 0;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith("BOARD ")) {
+                    boardLine = line;
+                } else if (line.startsWith("RACK ")) {
+                    rackLine = line;
+                } else if (line.startsWith("PLAYED 1 ") || line.equals("PASSED 1") || line.startsWith("ERR ")) {
+                    moveLatency.record(System.nanoTime() - sent);
+                    if (line.startsWith("ERR ")) {
+                        rejected++;
+                        passNext = true;
+                    }
+                } else if (line.equals("TURN") || line.startsWith("END ")) {
+                    if (sent != 0) turnLatency.record(System.nanoTime() - sent);
+                    sent = 0;
+                    if (line.startsWith("END ")) return;
+                    Move m = passNext ? Move.pass() : choose(boardLine, rackLine);
+                    passNext = false;
+                    out.write(parser.format(m));
+                    out.write('\n');
+                    out.flush();
+                    sent = System.nanoTime();
+                    moves++;
+                } else if (line.startsWith("ERR")) {
+                    throw new IOException("server error: " + line);
+                }
+            }
+            throw new IOException("connection closed during a game");
+        }
+
+        private Move choose(String boardLine, String rackLine) {
+            Board board = template.fork();
+            int cols = board.cols();
+            for (int i = 6; i < boardLine.length(); i++) {
+                char ch = boardLine.charAt(i);
+                if (ch == '.') continue;
+                Tile t;
+                if (Character.isLowerCase(ch)) {
+                    t = Tile.wildcard();
+                    t.chooseLetter(ch);
+                } else {
+                    t = Tile.normal(ch, values[ch - 'A']);
+                }
+                board.placeTile((i - 6) / cols, (i - 6) % cols, t);
+            }
+            Rack rack = new Rack();
+            for (int i = 5; i < rackLine.length(); i++) {
+                char ch = rackLine.charAt(i);
+                rack.add(ch == '_' ? Tile.wildcard() : Tile.normal(ch, values[ch - 'A']));
+            }
+            return player.chooseMove(board, rack, board.isEmpty());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int gamesPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        WordList dict = WordList.fromResource("/wordlist.txt");
+        Board template = GameServer.defaultTemplate();
+
+        GameServer local = null;
+        int port;
+        if (args.length > 2) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            local = new GameServer(dict, Map.of("default", template), Math.max(clients, 1), 256, 1 << 20);
+            local.start(0);
+            port = local.port();
+        }
+        try {
+            System.out.println(new LoadGenerator(dict, template).run(port, clients, gamesPerClient));
+        } finally {
+            if (local != null) local.close();
+        }
+    }
+}
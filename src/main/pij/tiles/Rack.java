@@ -6,10 +6,21 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- *
+ * The tiles a player holds. Besides the tiles in order, the rack keeps how many
+ * of each letter (and wildcards) it holds, their total value and a {@link Zobrist}
+ * key of that multiset, all updated on every change; so counting letters, asking
+ * for a tile the rack does not hold and the end-of-game penalty never scan the
+ * tiles. Taking a tile the rack does hold still looks for its slot, since the
+ * order of the tiles is kept.
  */
 public final class Rack {
+    /** Index of the wildcard count in {@link #copyCounts}. */
+    public static final int WILDCARD = Zobrist.WILDCARD;
+
     private final List<Tile> tiles = new ArrayList<>();
+    private final int[] counts = new int[27]; // per letter, index 26 = wildcards
+    private int value;
+    private long zobrist;
 
     public List<Tile> tilesView() {
         return Collections.unmodifiableList(tiles);
@@ -20,6 +31,7 @@ public final class Rack {
     public void add(Tile t) {
         if (t == null) throw new IllegalArgumentException("tile null");
         tiles.add(t);
+        counted(t, 1);
     }
 
     public void addAll(List<Tile> ts) {
@@ -28,16 +40,71 @@ public final class Rack {
 
     public boolean isEmpty() { return tiles.isEmpty(); }
 
+    /** Shallow copy: a new rack holding the same tiles in the same order. */
+    public Rack copy() {
+        Rack r = new Rack();
+        r.tiles.addAll(tiles);
+        System.arraycopy(counts, 0, r.counts, 0, counts.length);
+        r.value = value;
+        r.zobrist = zobrist;
+        return r;
+    }
+
+    /** Normal tiles of the letter held (case-insensitive); 0 for anything that is not a letter. */
+    public int count(char letter) {
+        char up = Character.toUpperCase(letter);
+        return up >= 'A' && up <= 'Z' ? counts[up - 'A'] : 0;
+    }
+
+    public int wildcards() {
+        return counts[WILDCARD];
+    }
+
+    /** Writes the counts into dest[0..26]: dest[i] for letter 'A' + i, dest[{@link #WILDCARD}] for wildcards. */
+    public void copyCounts(int[] dest) {
+        System.arraycopy(counts, 0, dest, 0, counts.length);
+    }
+
+    /**
+     * Zobrist key of the rack's contents as a multiset: racks holding the same letters
+     * and number of wildcards have the same key, whatever the order.
+     */
+    public long zobrist() { return zobrist; }
+
+    private void counted(Tile t, int delta) {
+        int l = Zobrist.letterIndex(t);
+        int before = counts[l];
+        counts[l] = before + delta;
+        value += delta * t.value();
+        zobrist ^= Zobrist.rack(l, before) ^ Zobrist.rack(l, before + delta);
+    }
+
+    /** Removes and returns the tile at the given position of {@link #tilesView()}. */
+    public Tile removeAt(int index) {
+        Tile t = tiles.remove(index);
+        counted(t, -1);
+        return t;
+    }
+
+    /** Puts a tile back at the given position, shifting later tiles right. */
+    public void insert(int index, Tile t) {
+        if (t == null) throw new IllegalArgumentException("tile null");
+        tiles.add(index, t);
+        counted(t, 1);
+    }
+
     /**
      * Removes one normal tile matching the given letter (case-insensitive).
-     * Returns removed tile if found.
+     * Returns removed tile if found. Answered from the counts if there is none;
+     * otherwise the first such tile is looked for in order.
      */
     public Optional<Tile> takeLetter(char letter) {
+        if (count(letter) == 0) return Optional.empty();
         char up = Character.toUpperCase(letter);
         for (int i = 0; i < tiles.size(); i++) {
             Tile t = tiles.get(i);
             if (!t.isWildcard() && t.letter() == up) {
-                tiles.remove(i);
+                removeAt(i);
                 return Optional.of(t);
             }
         }
@@ -45,13 +112,15 @@ public final class Rack {
     }
 
     /**
-     * Removes one wildcard tile if available.
+     * Removes one wildcard tile if available. Answered from the counts if there is
+     * none; otherwise the first wildcard is looked for in order.
      */
     public Optional<Tile> takeWildcard() {
+        if (counts[WILDCARD] == 0) return Optional.empty();
         for (int i = 0; i < tiles.size(); i++) {
             Tile t = tiles.get(i);
             if (t.isWildcard()) {
-                tiles.remove(i);
+                removeAt(i);
                 return Optional.of(t);
             }
         }
@@ -62,8 +131,6 @@ public final class Rack {
      * Convenience: total face value of remaining tiles (used for end-game penalty).
      */
     public int totalValue() {
-        int sum = 0;
-        for (Tile t : tiles) sum += t.value();
-        return sum;
+        return value;
     }
 }
@@ -52,6 +52,12 @@ public final class Tile {
         }
     }
 
+    /** Unbinds a wildcard's chosen letter, e.g. when the move that bound it is taken back. */
+    public void clearChosenLetter() {
+        if (!wildcard) throw new IllegalStateException("Not a wildcard tile");
+        chosenLetter = null;
+    }
+
     /**
      * For UI/debug: normal tiles show as 'A'; wildcard shows as chosen lowercase if it is set,
      * otherwise '_' (you can later print as [_8] at rack level).
@@ -1,42 +1,158 @@
 package pij.tiles;
 
+import pij.metrics.BagDrawEvent;
+import pij.metrics.Counter;
+import pij.metrics.Metrics;
+
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
-
+ * The tiles not yet drawn, kept as a count per letter (index 26 for wildcards)
+ * rather than as tile objects. Each draw picks one of the remaining tiles
+ * uniformly at random, i.e. a letter weighted by its count, which gives the same
+ * distribution as drawing from a shuffled bag. Drawn tiles are created on the
+ * way out, so bags never share tiles and a wildcard's chosen letter cannot leak
+ * from one game into another.
+ *
+ * Draws come from a {@link SplittableRandom}, so a bag built from the same seed
+ * always draws the same tiles. A copy costs two small arrays and gets its own
+ * random stream, which lets simulations clone the bag, take out the tiles they
+ * know about and sample draws without touching the game's bag.
+ * Not thread-safe.
  */
 public final class TileBag {
-    private final List<Tile> bag;
-    private final Random rng;
+    /** Index of wildcards in the counts. */
+    public static final int WILDCARD = Zobrist.WILDCARD;
+
+    private static final Counter DRAWS = Metrics.counter("bag.draws");
+    private static final Counter DRAWN = Metrics.counter("bag.tiles");
+
+    private final int[] counts;
+    private final int[] values;
+    private final SplittableRandom rng;
+    private int size;
 
     public TileBag(List<Tile> initialTiles) {
-        this(initialTiles, new Random());
+        this(initialTiles, new SplittableRandom());
     }
 
+    /** A bag whose draws are seeded from the given random; the same seed gives the same draws. */
     public TileBag(List<Tile> initialTiles, Random rng) {
+        this(initialTiles, new SplittableRandom(rng == null ? new Random().nextLong() : rng.nextLong()));
+    }
+
+    /**
+     * The tiles' letters are counted; tiles with the same letter are assumed to have the same value.
+     * A null random draws from a fresh, unseeded one.
+     */
+    public TileBag(List<Tile> initialTiles, SplittableRandom rng) {
         if (initialTiles == null) throw new IllegalArgumentException("tiles null");
-        this.bag = new ArrayList<>(initialTiles);
-        this.rng = rng == null ? new Random() : rng;
-        Collections.shuffle(this.bag, this.rng);
+        this.counts = new int[27];
+        this.values = new int[27];
+        this.rng = rng == null ? new SplittableRandom() : rng;
+        for (Tile t : initialTiles) {
+            int k = Zobrist.letterIndex(t);
+            counts[k]++;
+            values[k] = t.value();
+        }
+        this.size = initialTiles.size();
+    }
+
+    /**
+     * A bag holding counts[k] tiles of each index k, worth values[k] each.
+     * Both arrays have 27 entries: 'A' to 'Z', then wildcards. They are copied.
+     * A null random draws from a fresh, unseeded one.
+     */
+    public TileBag(int[] counts, int[] values, SplittableRandom rng) {
+        if (counts.length != 27 || values.length != 27) throw new IllegalArgumentException("need 27 counts and values");
+        this.counts = counts.clone();
+        this.values = values.clone();
+        this.rng = rng == null ? new SplittableRandom() : rng;
+        for (int c : counts) {
+            if (c < 0) throw new IllegalArgumentException("negative count");
+            size += c;
+        }
+    }
+
+    /** A bag with the same tiles left that draws from the given random stream. */
+    public TileBag copy(SplittableRandom rng) {
+        return new TileBag(counts, values, rng);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /** Tiles left of the given index ('A' + index, or {@link #WILDCARD}). */
+    public int count(int index) {
+        return counts[index];
     }
 
-    public int size() { return bag.size(); }
-    public boolean isEmpty() { return bag.isEmpty(); }
+    /** Writes the counts left into dest[0..26]. */
+    public void copyCounts(int[] dest) {
+        System.arraycopy(counts, 0, dest, 0, counts.length);
+    }
+
+    /**
+     * Takes a tile known to be elsewhere (e.g. on a rack) out of the bag.
+     *
+     * @return false if the bag holds none of that index
+     */
+    public boolean remove(int index) {
+        if (counts[index] == 0) return false;
+        counts[index]--;
+        size--;
+        return true;
+    }
+
+    /**
+     * Draws one tile without creating it.
+     *
+     * @return its index ('A' + index, or {@link #WILDCARD}), or -1 if the bag is empty
+     */
+    public int drawIndex() {
+        if (size == 0) return -1;
+        int r = rng.nextInt(size);
+        int k = 0;
+        while (r >= counts[k]) r -= counts[k++];
+        counts[k]--;
+        size--;
+        return k;
+    }
+
+    /** A new tile of the given index, worth what this bag's tiles of that index are worth. */
+    public Tile newTile(int index) {
+        return index == WILDCARD ? Tile.wildcard() : Tile.normal((char) ('A' + index), values[index]);
+    }
 
     /** Draw up to k tiles (less if bag has fewer). */
     public List<Tile> draw(int k) {
         if (k < 0) throw new IllegalArgumentException("k < 0");
-        int n = Math.min(k, bag.size());
+        int n = Math.min(k, size);
         List<Tile> out = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
-            out.add(bag.remove(bag.size() - 1)); // pop from end
+            out.add(newTile(drawIndex()));
         }
+        recordDraw(k, n);
         return out;
     }
 
+    private void recordDraw(int requested, int drawn) {
+        if (Metrics.enabled()) {
+            DRAWS.increment();
+            DRAWN.add(drawn);
+        }
+        BagDrawEvent event = new BagDrawEvent();
+        if (event.shouldCommit()) {
+            event.requested = requested;
+            event.drawn = drawn;
+            event.remaining = size;
+            event.commit();
+        }
+    }
+
     /** Fill the rack up to targetSize (typically 7) or until bag empty. */
     public void refillRack(Rack rack, int targetSize) {
         if (rack == null) throw new IllegalArgumentException("rack null");
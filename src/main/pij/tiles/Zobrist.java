@@ -0,0 +1,50 @@
+package pij.tiles;
+
+/**
+ * 64-bit Zobrist keys for game positions. A position's key is the XOR of the keys
+ * of its parts, so placing or removing a tile, or changing how many of a letter a
+ * rack holds, updates it with one XOR.
+ *
+ * Keys are derived from their coordinates by a SplitMix64 finaliser rather than
+ * read from a random table: they are the same on every board and every run and
+ * need no memory, whatever the board size.
+ */
+public final class Zobrist {
+
+    /** Letter index of wildcards in rack keys (letters are 0 = 'A' to 25 = 'Z'). */
+    public static final int WILDCARD = 26;
+
+    private static final long SQUARE_SEED = 0x9E3779B97F4A7C15L;
+    private static final long RACK_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    private Zobrist() {}
+
+    /**
+     * Key of a tile on a square.
+     *
+     * @param square   square index, row * columns + column
+     * @param letter   upper-case letter shown on the square
+     * @param wildcard whether the tile is a wildcard played as that letter
+     */
+    public static long square(int square, char letter, boolean wildcard) {
+        return mix(SQUARE_SEED + ((long) square * 52 + (letter - 'A') + (wildcard ? 26 : 0)));
+    }
+
+    /** Key of a rack holding exactly count tiles of a letter index (0 for count 0). */
+    public static long rack(int letter, int count) {
+        return count == 0 ? 0 : mix(RACK_SEED + ((long) count * 27 + letter));
+    }
+
+    /** Letter index of a tile for {@link #rack}. */
+    public static int letterIndex(Tile t) {
+        return t.isWildcard() ? WILDCARD : t.letter() - 'A';
+    }
+
+    /** SplitMix64 finaliser: a bijective 64-bit mix. */
+    public static long mix(long z) {
+        z *= 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
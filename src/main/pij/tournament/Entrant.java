@@ -0,0 +1,24 @@
+package pij.tournament;
+
+import pij.ai.PlayerController;
+import pij.dict.WordList;
+
+/**
+ * A named kind of computer player. Each game gets fresh controllers from the
+ * factory, since controllers keep per-game state and are not thread-safe.
+ */
+public record Entrant(String name, Factory factory) {
+
+    @FunctionalInterface
+    public interface Factory {
+        /**
+         * @param dict the tournament's shared word list
+         * @param seed seed for any randomness of this controller in this game
+         */
+        PlayerController create(WordList dict, long seed);
+    }
+
+    public PlayerController create(WordList dict, long seed) {
+        return factory.create(dict, seed);
+    }
+}
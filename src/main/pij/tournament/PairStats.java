@@ -0,0 +1,98 @@
+package pij.tournament;
+
+/**
+ * Results of the games between two entrants, A and B. Games are added from many
+ * threads; all methods are synchronized.
+ */
+public final class PairStats {
+
+    private final Entrant a;
+    private final Entrant b;
+
+    private int games;
+    private int winsA;
+    private int winsB;
+    private long sumA, sumSqA;       // final scores of A
+    private long sumB, sumSqB;       // final scores of B
+    private long sumTurns, sumSqTurns;
+    private final LatencyHistogram latencyA = new LatencyHistogram();
+    private final LatencyHistogram latencyB = new LatencyHistogram();
+
+    PairStats(Entrant a, Entrant b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    synchronized void add(int scoreA, int scoreB, int turns, LatencyHistogram turnsA, LatencyHistogram turnsB) {
+        games++;
+        if (scoreA > scoreB) winsA++;
+        else if (scoreB > scoreA) winsB++;
+        sumA += scoreA;
+        sumSqA += (long) scoreA * scoreA;
+        sumB += scoreB;
+        sumSqB += (long) scoreB * scoreB;
+        sumTurns += turns;
+        sumSqTurns += (long) turns * turns;
+        latencyA.merge(turnsA);
+        latencyB.merge(turnsB);
+    }
+
+    public Entrant a() { return a; }
+    public Entrant b() { return b; }
+
+    public synchronized int games() { return games; }
+    public synchronized int winsA() { return winsA; }
+    public synchronized int winsB() { return winsB; }
+    public synchronized int draws() { return games - winsA - winsB; }
+
+    /** Fraction of games A won, counting draws as half a win. */
+    public synchronized double winRateA() {
+        return games == 0 ? 0 : (winsA + 0.5 * draws()) / games;
+    }
+
+    public synchronized double meanScoreA() { return mean(sumA); }
+    public synchronized double meanScoreB() { return mean(sumB); }
+    public synchronized double scoreVarianceA() { return variance(sumA, sumSqA); }
+    public synchronized double scoreVarianceB() { return variance(sumB, sumSqB); }
+    public synchronized double meanTurns() { return mean(sumTurns); }
+    public synchronized double turnsVariance() { return variance(sumTurns, sumSqTurns); }
+
+    /** Per-turn latency of A's controller: a copy, safe to read while games are added. */
+    public synchronized LatencyHistogram latencyA() { return copy(latencyA); }
+    public synchronized LatencyHistogram latencyB() { return copy(latencyB); }
+
+    /** Multi-line summary: win rates, score and length statistics, latency percentiles. */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(a.name()).append(" vs ").append(b.name()).append(": ").append(games).append(" games\n");
+        sb.append(String.format("  wins %d / %d, draws %d, win rate of %s %.3f%n", winsA, winsB, draws(), a.name(), winRateA()));
+        sb.append(String.format("  score %-10s mean %8.2f  sd %7.2f%n", a.name(), meanScoreA(), Math.sqrt(scoreVarianceA())));
+        sb.append(String.format("  score %-10s mean %8.2f  sd %7.2f%n", b.name(), meanScoreB(), Math.sqrt(scoreVarianceB())));
+        sb.append(String.format("  turns per game   mean %8.2f  sd %7.2f%n", meanTurns(), Math.sqrt(turnsVariance())));
+        latency(sb, a.name(), latencyA);
+        latency(sb, b.name(), latencyB);
+        return sb.toString();
+    }
+
+    private static void latency(StringBuilder sb, String name, LatencyHistogram h) {
+        sb.append(String.format("  turn latency %-10s p50 %8.3f ms  p90 %8.3f ms  p99 %8.3f ms  max %8.3f ms%n", name,
+                h.percentile(0.5) / 1e6, h.percentile(0.9) / 1e6, h.percentile(0.99) / 1e6, h.max() / 1e6));
+    }
+
+    private double mean(long sum) {
+        return games == 0 ? 0 : (double) sum / games;
+    }
+
+    /** Sample variance (n - 1 in the denominator). */
+    private double variance(long sum, long sumSq) {
+        if (games < 2) return 0;
+        double mean = (double) sum / games;
+        return Math.max(0, (sumSq - mean * sum) / (games - 1));
+    }
+
+    private static LatencyHistogram copy(LatencyHistogram h) {
+        LatencyHistogram c = new LatencyHistogram();
+        c.merge(h);
+        return c;
+    }
+}
@@ -0,0 +1,180 @@
+package pij.tournament;
+
+import pij.ai.GreedyComputer;
+import pij.ai.PlayerController;
+import pij.ai.SimpleComputer;
+import pij.ai.TimedComputer;
+import pij.board.Board;
+import pij.board.BoardLoader;
+import pij.board.InvalidBoardFileException;
+import pij.dict.WordList;
+import pij.metrics.Metrics;
+import pij.move.Move;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Plays complete computer-vs-computer games in bulk and collects statistics for
+ * every pair of entrants: win rates, mean and variance of the final scores, game
+ * length and per-turn latency percentiles.
+ *
+ * Each game runs on its own virtual thread with its own {@link GameSession}, a fork
+ * of the board template, fresh controllers and a {@link TileBag} seeded from the
+ * tournament seed. The word list and the template are shared and only read. At
+ * most {@code parallelism} games are in flight, which bounds memory for runs of
+ * any length; seeds are drawn in game order, so results do not depend on timing.
+ * The entrants swap seats every game.
+ *
+ * Usage: {@code java pij.tournament.Tournament [gamesPerPair] [parallelism] [seed] [entrant...]}
+ * where entrants are {@code simple}, {@code greedy} or {@code timed:<millis>}
+ * (defaults: 1000 games, one per processor, seed 1, simple and greedy).
+ */
+public final class Tournament {
+
+    private final WordList dict;
+    private final Board template;
+    private final List<Tile> tileSet;
+    private final int parallelism;
+
+    /**
+     * @param template    empty board every game starts from (forked, never modified)
+     * @param tileSet     tiles of each game's bag (copied for every game)
+     * @param parallelism most games played at the same time
+     */
+    public Tournament(WordList dict, Board template, List<Tile> tileSet, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        if (!template.isEmpty()) throw new IllegalArgumentException("board template must be empty");
+        this.dict = dict;
+        this.template = template;
+        this.tileSet = List.copyOf(tileSet);
+        this.parallelism = parallelism;
+    }
+
+    /** Plays every pair of entrants against each other; results in pair order. */
+    public List<PairStats> roundRobin(List<Entrant> entrants, int gamesPerPair, long seed) throws InterruptedException {
+        List<PairStats> out = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                out.add(play(entrants.get(i), entrants.get(j), gamesPerPair, seeds.nextLong()));
+            }
+        }
+        return out;
+    }
+
+    /** Plays a number of games between two entrants. */
+    public PairStats play(Entrant a, Entrant b, int games, long seed) throws InterruptedException {
+        PairStats stats = new PairStats(a, b);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        Semaphore slots = new Semaphore(parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int g = 0; g < games && failure.get() == null; g++) {
+                boolean aFirst = (g & 1) == 0;
+                long gameSeed = seeds.nextLong();
+                slots.acquire();
+                executor.execute(() -> {
+                    try {
+                        playOne(stats, aFirst, gameSeed);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+        if (failure.get() != null) throw new IllegalStateException("game failed", failure.get());
+        return stats;
+    }
+
+    private void playOne(PairStats stats, boolean aFirst, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        LatencyHistogram latencyA = new LatencyHistogram();
+        LatencyHistogram latencyB = new LatencyHistogram();
+        PlayerController a = timed(stats.a().create(dict, rng.nextLong()), latencyA);
+        PlayerController b = timed(stats.b().create(dict, rng.nextLong()), latencyB);
+        TileBag bag = new TileBag(tileSet, new SplittableRandom(rng.nextLong())); // the bag makes new tiles as they are drawn
+
+        GameSession session = aFirst
+                ? new GameSession(template.fork(), dict, bag, new PlayerState(stats.a().name()), a, new PlayerState(stats.b().name()), b)
+                : new GameSession(template.fork(), dict, bag, new PlayerState(stats.b().name()), b, new PlayerState(stats.a().name()), a);
+        session.playToEnd();
+
+        int first = session.player(0).score();
+        int second = session.player(1).score();
+        stats.add(aFirst ? first : second, aFirst ? second : first, session.turns(), latencyA, latencyB);
+    }
+
+    /** Wraps a controller so that the time of every move choice is recorded. */
+    private static PlayerController timed(PlayerController c, LatencyHistogram latency) {
+        return (board, rack, firstMove) -> {
+            long start = System.nanoTime();
+            Move m = c.chooseMove(board, rack, firstMove);
+            latency.record(System.nanoTime() - start);
+            return m;
+        };
+    }
+
+    /** Entrant for a name given on the command line. */
+    public static Entrant entrant(String name) {
+        if (name.equals("simple")) return new Entrant(name, (dict, seed) -> new SimpleComputer(dict, new Random(seed)));
+        if (name.equals("greedy")) return new Entrant(name, (dict, seed) -> new GreedyComputer(dict));
+        if (name.startsWith("timed:")) {
+            Duration budget = Duration.ofMillis(Long.parseLong(name.substring("timed:".length())));
+            return new Entrant(name, (dict, seed) -> new TimedComputer(dict, budget));
+        }
+        throw new IllegalArgumentException("unknown entrant: " + name);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int games;
+        int parallelism;
+        long seed;
+        List<Entrant> entrants = new ArrayList<>();
+        try {
+            games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+            parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+            for (int i = 3; i < args.length; i++) entrants.add(entrant(args[i]));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java pij.tournament.Tournament [gamesPerPair] [parallelism] [seed] [entrant...]");
+            System.exit(2);
+            return;
+        }
+        if (entrants.isEmpty()) entrants = List.of(entrant("simple"), entrant("greedy"));
+        if (entrants.size() < 2) {
+            System.err.println("At least two entrants are needed");
+            System.exit(2);
+        }
+
+        WordList dict = WordList.fromResource("/wordlist.txt");
+        Board board;
+        try {
+            board = new BoardLoader().loadResource("/defaultBoard.txt");
+        } catch (InvalidBoardFileException e) {
+            throw new IOException("Default board is invalid", e);
+        }
+
+        Tournament t = new Tournament(dict, board, TileBag.defaultTiles(), parallelism);
+        long start = System.nanoTime();
+        for (PairStats s : t.roundRobin(entrants, games, seed)) System.out.print(s.report());
+        System.out.printf("%.1f s%n", (System.nanoTime() - start) / 1e9);
+        if (Metrics.enabled()) System.out.print(Metrics.summary());
+    }
+}
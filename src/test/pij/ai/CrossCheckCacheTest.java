@@ -0,0 +1,79 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Direction;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrossCheckCacheTest {
+
+    @Test
+    void placedTilesUpdateNeighbouringSquaresOnSync() {
+        Board b = BoardFixtures.emptyBoard();
+        CrossCheckCache cache = new CrossCheckCache(b);
+        assertEquals(CrossCheckCache.ALL_LETTERS, cache.allowed(Direction.RIGHT, 2, 3));
+        assertFalse(cache.hasAnchor(Direction.RIGHT, 3));
+
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        assertEquals(2, cache.sync());
+        assertEquals(0, cache.sync());
+
+        assertEquals(0, cache.allowed(Direction.RIGHT, 3, 3));           // occupied
+        assertEquals(0, cache.allowed(Direction.RIGHT, 2, 3));           // tile below it
+        assertEquals(CrossCheckCache.ALL_LETTERS, cache.allowed(Direction.DOWN, 2, 3));
+        assertTrue(cache.isAnchor(Direction.RIGHT, 3, 2));
+        assertTrue(cache.isAnchor(Direction.RIGHT, 3, 5));
+        assertFalse(cache.isAnchor(Direction.RIGHT, 3, 6));
+        assertTrue(cache.isAnchor(Direction.DOWN, 2, 3));
+        assertTrue(cache.isAnchor(Direction.DOWN, 4, 4));
+        assertFalse(cache.hasAnchor(Direction.RIGHT, 0));
+    }
+
+    @Test
+    void removedTilesAreForgottenOnSync() {
+        Board b = BoardFixtures.emptyBoard();
+        CrossCheckCache cache = new CrossCheckCache(b);
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        cache.sync();
+        b.removeTile(3, 3);
+        assertEquals(1, cache.sync());
+
+        assertEquals(CrossCheckCache.ALL_LETTERS, cache.allowed(Direction.RIGHT, 2, 3));
+        assertFalse(cache.isAnchor(Direction.RIGHT, 3, 2));
+        assertFalse(cache.hasAnchor(Direction.DOWN, 3));
+    }
+
+    @Test
+    void cachedGenerationMatchesBoardGeneration() {
+        WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH"));
+        Board b = BoardFixtures.emptyBoard();
+        CrossCheckCache cache = new CrossCheckCache(b);
+        MoveGenerator gen = new MoveGenerator(dict);
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        b.placeTile(10, 1, Tile.normal('A', 1));
+        Rack rack = new Rack();
+        for (char ch : "SHT".toCharArray()) rack.add(Tile.normal(ch, 1));
+
+        List<Move> plain = gen.generate(b, rack, false);
+        List<Move> cached = gen.generate(cache, rack, false);
+
+        assertFalse(plain.isEmpty());
+        assertEquals(plain.size(), cached.size());
+        for (int i = 0; i < plain.size(); i++) {
+            assertEquals(plain.get(i).wordRaw(), cached.get(i).wordRaw());
+            assertEquals(plain.get(i).start(), cached.get(i).start());
+            assertEquals(plain.get(i).direction(), cached.get(i).direction());
+        }
+    }
+}
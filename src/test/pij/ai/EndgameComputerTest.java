@@ -0,0 +1,180 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndgameComputerTest {
+
+    private final WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS"));
+
+    private Board board() {
+        return board(false);
+    }
+
+    /** HI from the start square, a <5> square under the I and, if asked, a [3] square above the H. */
+    private Board board(boolean letterPremium) {
+        Cell[][] cells = BoardFixtures.normalCells();
+        cells[4][4] = Cell.word(5);
+        if (letterPremium) cells[2][3] = Cell.letter(3);
+        Board b = BoardFixtures.board(cells);
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        return b;
+    }
+
+    private Rack rack(Tile... tiles) {
+        Rack r = new Rack();
+        for (Tile t : tiles) r.add(t);
+        return r;
+    }
+
+    private EndgameComputer solver() {
+        return new EndgameComputer(dict, TileBag.defaultTiles(), Duration.ofSeconds(30), 12, new GreedyComputer(dict));
+    }
+
+    @Test
+    void plansAheadInsteadOfTakingTheBiggestScore() {
+        Board b = board();
+        Rack ours = rack(Tile.normal('S', 1), Tile.normal('T', 3));
+        Rack theirs = rack(Tile.normal('Q', 10));
+
+        // greedy takes IS on the <5> square for 10 but is then stuck with the T
+        assertEquals("IS", new GreedyComputer(dict).chooseMove(b, ours, false).wordRaw());
+
+        EndgameComputer solver = solver();
+        Move m = solver.chooseMove(b, ours, theirs, 0);
+
+        // HIS (6), the opponent can only pass, then THIS (9) goes out and the opponent
+        // pays for the Q: 25, against 19 for THIS now and 10 - 3 + 10 for IS
+        assertEquals("HIS", m.wordRaw());
+        assertEquals(new Square(3, 3), m.start());
+        assertEquals(Direction.RIGHT, m.direction());
+        assertTrue(solver.lastReport().exact());
+        assertEquals(25, solver.lastReport().value());
+        assertEquals(2, b.tileCount());
+        assertEquals(2, ours.size());
+    }
+
+    @Test
+    void passesWhenThatIsBest() {
+        Board b = board();
+        Rack ours = rack(Tile.normal('Q', 10));
+        Rack theirs = rack(Tile.normal('Z', 10));
+
+        EndgameComputer solver = solver();
+        assertTrue(solver.chooseMove(b, ours, theirs, 3).isPass());
+        assertEquals(0, solver.lastReport().value());
+    }
+
+    @Test
+    void usesTheFallbackWhileTheBagMayHoldTiles() {
+        Board b = board();
+        Rack ours = rack(Tile.normal('S', 1), Tile.normal('T', 3));
+
+        Move m = solver().chooseMove(b, ours, false);
+        assertEquals("IS", m.wordRaw());
+    }
+
+    @Test
+    void tableValuesCutAtTheHorizonDoNotCountAsSolved() {
+        // a position reached again through passes is cut off by its table entry from a
+        // shallower search; the iteration holding that cutoff is not the exact one
+        WordList words = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "AS", "AT", "TA", "HAT", "HATS",
+                "SAT", "ITS", "TIS", "HA", "AH", "AHS", "SIT", "HIT", "HITS", "TI", "SHIT", "SHA"));
+        Board b = board(true);
+        Rack ours = rack(Tile.normal('A', 1), Tile.normal('Q', 10), Tile.normal('S', 1));
+        Rack theirs = rack(Tile.normal('T', 3), Tile.normal('S', 1), Tile.normal('A', 1));
+
+        EndgameComputer solver = new EndgameComputer(words, TileBag.defaultTiles(), Duration.ofSeconds(30), 12,
+                new GreedyComputer(words));
+        solver.chooseMove(b, ours, theirs, 1);
+        assertTrue(solver.lastReport().exact());
+        assertEquals(-16, solver.lastReport().value()); // as found by a search without the table
+    }
+
+    @Test
+    void takesThePassesOfTheGameIntoAccount() {
+        Board b = board();
+        Rack ours = rack(Tile.normal('Q', 10));
+        EndgameComputer solver = new EndgameComputer(dict,
+                List.of(Tile.normal('H', 4), Tile.normal('I', 1), Tile.normal('Q', 10), Tile.normal('S', 1)),
+                Duration.ofSeconds(30), 12, new GreedyComputer(dict));
+
+        // the Q cannot be played; after three passes ours ends the game, Q against S
+        assertTrue(solver.chooseMove(b, ours, false, 3).isPass());
+        assertEquals(-9, solver.lastReport().value());
+
+        // otherwise the opponent goes out with IS on the <5> square and we pay for the Q
+        assertTrue(solver.chooseMove(b, ours, false, 0).isPass());
+        assertEquals(-20, solver.lastReport().value());
+    }
+
+    @Test
+    void stopsTheFallbacksPonderingForTheEndgame() {
+        Board b = board();
+        Rack ours = rack(Tile.normal('Q', 10));
+        int[] calls = new int[2]; // ponder, stopPondering
+        PlayerController fallback = new PlayerController() {
+            @Override
+            public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+                throw new AssertionError("the endgame is solved without the fallback");
+            }
+
+            @Override
+            public void ponder(Board board, Rack rack) {
+                calls[0]++;
+            }
+
+            @Override
+            public void stopPondering() {
+                calls[1]++;
+            }
+        };
+        EndgameComputer solver = new EndgameComputer(dict,
+                List.of(Tile.normal('H', 4), Tile.normal('I', 1), Tile.normal('Q', 10), Tile.normal('S', 1)),
+                Duration.ofSeconds(30), 12, fallback);
+
+        // only the opponent's S is unseen: nothing to ponder for the coming endgame
+        solver.ponder(b, ours);
+        assertEquals(0, calls[0]);
+        assertEquals(1, calls[1]);
+
+        solver.chooseMove(b, ours, false, 0);
+        assertEquals(0, calls[0]);
+        assertEquals(2, calls[1]);
+    }
+
+    @Test
+    void leavesPonderingToTheFallbackBeforeTheEndgame() {
+        int[] ponders = new int[1];
+        PlayerController fallback = new PlayerController() {
+            @Override
+            public Move chooseMove(Board board, Rack rack, boolean firstMove) {
+                return Move.pass();
+            }
+
+            @Override
+            public void ponder(Board board, Rack rack) {
+                ponders[0]++;
+            }
+        };
+        EndgameComputer solver = new EndgameComputer(dict, TileBag.defaultTiles(), Duration.ofSeconds(30), 12, fallback);
+        solver.ponder(board(), rack(Tile.normal('S', 1)));
+        assertEquals(1, ponders[0]);
+    }
+}
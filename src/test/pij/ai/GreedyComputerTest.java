@@ -0,0 +1,76 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GreedyComputerTest {
+
+    private final WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH"));
+
+    private Board emptyBoard(Square start) {
+        Cell[][] cells = BoardFixtures.normalCells();
+        cells[3][5] = Cell.word(3);
+        return new Board(BoardFixtures.COLS, BoardFixtures.ROWS, start, cells);
+    }
+
+    private Rack rackOf(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) {
+            r.add(Tile.normal(ch, ch == 'T' ? 2 : 1));
+        }
+        return r;
+    }
+
+    @Test
+    void playsTheHighestScoringMove() {
+        Board b = emptyBoard(new Square(3, 3));
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        Rack rack = rackOf("ST");
+
+        Move m = new GreedyComputer(dict).chooseMove(b, rack, false);
+
+        // THIS reaches the <3> square: (2 + 4 + 1 + 1) * 3 = 24 beats HIS at 18
+        assertEquals("THIS", m.wordRaw());
+        assertEquals(new Square(3, 2), m.start());
+        assertEquals(Direction.RIGHT, m.direction());
+        assertEquals(2, rack.size());
+        assertEquals(2, b.tileCount());
+    }
+
+    @Test
+    void topMovesAreSortedByScore() {
+        Board b = emptyBoard(new Square(3, 3));
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+
+        List<ScoredMove> top = new GreedyComputer(dict).topMoves(b, rackOf("ST"), false, 3);
+
+        assertEquals(3, top.size());
+        assertEquals(24, top.get(0).score().total());
+        assertEquals(18, top.get(1).score().total());
+        assertEquals(3, top.get(0).score().wordMultiplier());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).score().total() >= top.get(i).score().total());
+        }
+    }
+
+    @Test
+    void passesWhenNothingFits() {
+        Board b = emptyBoard(new Square(0, 0));
+        assertTrue(new GreedyComputer(dict).chooseMove(b, rackOf("QZ"), true).isPass());
+    }
+}
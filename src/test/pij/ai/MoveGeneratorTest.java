@@ -0,0 +1,123 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.MoveValidator;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+
+    private final WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH"));
+
+    private Rack rackOf(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) {
+            r.add(ch == '_' ? Tile.wildcard() : Tile.normal(ch, 1));
+        }
+        return r;
+    }
+
+    private static boolean hasMove(List<Move> moves, String word, Square start, Direction dir) {
+        return moves.stream().anyMatch(m -> m.wordRaw().equals(word)
+                && m.start().equals(start) && m.direction() == dir);
+    }
+
+    @Test
+    void firstMoveMustCoverStartSquare() {
+        Board b = BoardFixtures.emptyBoard(); // d4
+        List<Move> moves = new MoveGenerator(dict).generate(b, rackOf("HI"), true);
+
+        assertFalse(moves.isEmpty());
+        assertTrue(hasMove(moves, "HI", new Square(3, 2), Direction.RIGHT));
+        assertTrue(hasMove(moves, "HI", new Square(3, 3), Direction.DOWN));
+        for (Move m : moves) {
+            int from = m.direction() == Direction.RIGHT ? m.start().col() : m.start().row();
+            int fixed = m.direction() == Direction.RIGHT ? m.start().row() : m.start().col();
+            assertEquals(3, fixed);
+            assertTrue(from <= 3 && 3 < from + m.wordRaw().length());
+        }
+    }
+
+    @Test
+    void extendsExistingWordWithoutCreatingPerpendicularWords() throws Exception {
+        Board b = BoardFixtures.emptyBoard();
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+
+        List<Move> moves = new MoveGenerator(dict).generate(b, rackOf("ST"), false);
+
+        assertTrue(hasMove(moves, "HIS", new Square(3, 3), Direction.RIGHT));
+        assertTrue(hasMove(moves, "THIS", new Square(3, 2), Direction.RIGHT));
+        // "IS" downward from e4 would need a tile under I only, which is fine
+        assertTrue(hasMove(moves, "IS", new Square(3, 4), Direction.DOWN));
+        // "SH" downward ending on h would place S above H at d3: SH reads down, legal
+        assertTrue(hasMove(moves, "SH", new Square(2, 3), Direction.DOWN));
+
+        MoveValidator validator = new MoveValidator(dict);
+        Rack rack = rackOf("ST");
+        for (Move m : moves) {
+            assertDoesNotThrow(() -> validator.validate(b, rack, m, false));
+        }
+    }
+
+    @Test
+    void wildcardLettersAreLowercase() {
+        Board b = BoardFixtures.emptyBoard(7, 28, new Square(0, 0));
+        List<Move> moves = new MoveGenerator(dict).generate(b, rackOf("H_"), true);
+
+        assertTrue(hasMove(moves, "Hi", new Square(0, 0), Direction.RIGHT));
+        assertFalse(hasMove(moves, "HI", new Square(0, 0), Direction.RIGHT));
+    }
+
+    @Test
+    void noMovesWhenNothingFits() {
+        Board b = BoardFixtures.emptyBoard(7, 28, new Square(0, 0));
+        assertTrue(new MoveGenerator(dict).generate(b, rackOf("QZ"), true).isEmpty());
+        assertTrue(new MoveGenerator(dict).generate(b, new Rack(), true).isEmpty());
+    }
+
+    private static List<String> keys(List<Move> moves) {
+        return moves.stream().map(m -> m.wordRaw() + "@" + m.start().row() + "," + m.start().col() + m.direction()).toList();
+    }
+
+    @Test
+    void parallelSearchGivesTheSequentialListInOrder() {
+        Board b = BoardFixtures.emptyBoard(26, 99, new Square(50, 10));
+        String[] words = {"HIS", "ASH", "THIS", "HI"};
+        for (int i = 0; i < words.length; i++) {
+            for (int k = 0; k < words[i].length(); k++) {
+                b.placeTile(10 + 20 * i + k, 3 + 5 * i, Tile.normal(words[i].charAt(k), 1));
+            }
+        }
+        b.placeTile(90, 20, Tile.normal('S', 1));
+        Rack rack = rackOf("AHIST_");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Move> sequential = new MoveGenerator(dict).generate(b, rack, false);
+            List<Move> parallel = new MoveGenerator(dict, pool).generate(b, rack, false);
+
+            assertFalse(sequential.isEmpty());
+            assertEquals(keys(sequential), keys(parallel));
+
+            Move a = new SimpleComputer(new MoveGenerator(dict), new Random(7)).chooseMove(b, rack, false);
+            Move c = new SimpleComputer(new MoveGenerator(dict, pool), new Random(7)).chooseMove(b, rack, false);
+            assertEquals(keys(List.of(a)), keys(List.of(c)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
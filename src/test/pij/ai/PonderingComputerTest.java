@@ -0,0 +1,114 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.BoardLoader;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.play.GameListener;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.score.ScoreBreakdown;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PonderingComputerTest {
+
+    @Test
+    void pondersDuringTheOpponentsTurnAndStillPlaysTheGreedyMove() throws Exception {
+        WordList dict = WordList.fromResource("/wordlist.txt");
+        Board board = new BoardLoader().loadResource("/defaultBoard.txt");
+        PonderingComputer pondering = new PonderingComputer(dict, Duration.ofSeconds(60));
+        GreedyComputer reference = new GreedyComputer(dict);
+        GameSession s = new GameSession(board, dict, new TileBag(TileBag.defaultTiles(), new Random(3)),
+                new PlayerState("Greedy"), new GreedyComputer(dict),
+                new PlayerState("Pondering"), pondering);
+
+        List<String> expected = new ArrayList<>();
+        List<String> played = new ArrayList<>();
+        int[] reused = new int[1];
+        s.addListener(new GameListener() {
+            @Override
+            public void turnStarted(GameSession g, PlayerState p) {
+                if (p == g.player(0)) {
+                    g.controller(1).ponder(g.board(), g.player(1).rack());
+                } else {
+                    try {
+                        pondering.awaitPondering(); // so that the result does not depend on timing
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    expected.add(describe(reference.chooseMove(g.board(), p.rack(), g.isFirstMove())));
+                }
+            }
+
+            @Override
+            public void movePlayed(GameSession g, PlayerState p, Move m, ValidatedMove v, ScoreBreakdown score) {
+                if (p != g.player(1)) return;
+                played.add(describe(m));
+                reused[0] += pondering.lastReusedLines();
+            }
+
+            @Override
+            public void passed(GameSession g, PlayerState p) {
+                if (p == g.player(1)) played.add("pass");
+            }
+        });
+        s.playToEnd();
+        pondering.stopPondering();
+
+        assertFalse(played.isEmpty());
+        assertEquals(expected, played);
+        assertTrue(reused[0] > 0, "no pondered line was ever reused");
+    }
+
+    @Test
+    void changedRackOrTakenBackTileMeansAFullSearch() throws Exception {
+        WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH"));
+        Board b = BoardFixtures.emptyBoard();
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        b.placeTile(10, 2, Tile.normal('A', 1));
+        PonderingComputer computer = new PonderingComputer(dict, Duration.ofSeconds(60));
+
+        computer.ponder(b, rackOf("ST"));
+        computer.awaitPondering();
+        Move m = computer.chooseMove(b, rackOf("ST"), false);
+        assertEquals(35, computer.lastReusedLines()); // nothing changed: every line
+        assertEquals("THIS", m.wordRaw());
+
+        computer.ponder(b, rackOf("ST"));
+        computer.awaitPondering();
+        assertEquals("HIS", computer.chooseMove(b, rackOf("SX"), false).wordRaw());
+        assertEquals(0, computer.lastReusedLines());
+
+        computer.ponder(b, rackOf("ST"));
+        computer.awaitPondering();
+        b.removeTile(10, 2);
+        b.placeTile(20, 2, Tile.normal('A', 1));
+        m = computer.chooseMove(b, rackOf("ST"), false);
+        assertEquals(0, computer.lastReusedLines());
+        assertEquals(new GreedyComputer(dict).chooseMove(b, rackOf("ST"), false).wordRaw(), m.wordRaw());
+    }
+
+    private static Rack rackOf(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) r.add(Tile.normal(ch, 1));
+        return r;
+    }
+
+    private static String describe(Move m) {
+        return m.isPass() ? "pass" : m.wordRaw() + " " + m.start() + " " + m.direction();
+    }
+}
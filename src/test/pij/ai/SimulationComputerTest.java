@@ -0,0 +1,82 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.MoveValidator;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+import pij.tiles.TileBag;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationComputerTest {
+
+    private final WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH", "AS", "AT", "TA", "SAT", "HAT"));
+
+    private Board midGameBoard() {
+        Board b = BoardFixtures.emptyBoard();
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        return b;
+    }
+
+    private Rack rackOf(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) r.add(Tile.normal(ch, 1));
+        return r;
+    }
+
+    private SimulationComputer computer(ForkJoinPool pool, long seed) {
+        return new SimulationComputer(dict, TileBag.defaultTiles(), 4, 2, 8, Duration.ofSeconds(60), pool, seed);
+    }
+
+    @Test
+    void playsALegalMoveWithoutTouchingThePosition() throws Exception {
+        Board b = midGameBoard();
+        Rack rack = rackOf("STA");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationComputer sim = computer(pool, 42);
+            Move m = sim.chooseMove(b, rack, false);
+
+            assertFalse(m.isPass());
+            new MoveValidator(dict).validate(b, rack, m, false);
+            assertEquals(2, b.tileCount());
+            assertEquals(3, rack.size());
+            assertTrue(sim.lastRolloutCount() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameSeedGivesTheSameMove() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Move a = computer(pool, 7).chooseMove(midGameBoard(), rackOf("STA"), false);
+            Move b = computer(pool, 7).chooseMove(midGameBoard(), rackOf("STA"), false);
+            assertEquals(a.wordRaw(), b.wordRaw());
+            assertEquals(a.start(), b.start());
+            assertEquals(a.direction(), b.direction());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void passesWhenNothingFits() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertTrue(computer(pool, 1).chooseMove(midGameBoard(), rackOf("QZ"), false).isPass());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package pij.ai;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.MoveValidator;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimedComputerTest {
+
+    private final WordList dict = new WordList(Set.of("HI", "HIS", "IS", "SH", "THIS", "ASH"));
+
+    private Board midGameBoard() {
+        Cell[][] cells = BoardFixtures.normalCells();
+        cells[3][5] = Cell.word(3);
+        Board b = BoardFixtures.board(cells);
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, Tile.normal('I', 1));
+        b.placeTile(10, 2, Tile.normal('A', 1));
+        return b;
+    }
+
+    private Rack rackOf(String letters) {
+        Rack r = new Rack();
+        for (char ch : letters.toCharArray()) r.add(Tile.normal(ch, 1));
+        return r;
+    }
+
+    @Test
+    void withEnoughTimePlaysTheGreedyMove() {
+        Board b = midGameBoard();
+        TimedComputer timed = new TimedComputer(dict, Duration.ofSeconds(30));
+
+        Move m = timed.chooseMove(b, rackOf("ST"), false);
+        Move greedy = new GreedyComputer(dict).chooseMove(b, rackOf("ST"), false);
+
+        assertEquals(greedy.wordRaw(), m.wordRaw());
+        assertEquals(greedy.start(), m.start());
+        SearchReport report = timed.lastReport();
+        assertFalse(report.stopped());
+        assertEquals(1.0, report.coverage());
+        assertEquals(new MoveGenerator(dict).searchableLines(b, false), report.lines());
+        assertTrue(report.candidates() > 0);
+    }
+
+    @Test
+    void cancelledBeforeStartPasses() {
+        TimedComputer timed = new TimedComputer(dict, Duration.ofSeconds(30));
+
+        Move m = timed.chooseMove(midGameBoard(), rackOf("ST"), false, () -> true);
+
+        assertTrue(m.isPass());
+        assertTrue(timed.lastReport().stopped());
+        assertEquals(0, timed.lastReport().linesSearched());
+    }
+
+    @Test
+    void stoppingPartwayKeepsTheBestMoveSoFar() throws Exception {
+        Board b = midGameBoard();
+        TimedComputer timed = new TimedComputer(dict, Duration.ofSeconds(30));
+        int[] polls = {0};
+
+        Move m = timed.chooseMove(b, rackOf("ST"), false, () -> ++polls[0] > 4);
+
+        SearchReport report = timed.lastReport();
+        assertTrue(report.stopped());
+        assertTrue(report.coverage() < 1.0);
+        if (!m.isPass()) new MoveValidator(dict).validate(b, rackOf("ST"), m, false);
+    }
+
+    @Test
+    void cancelJustBeforeTheTurnStopsThatTurnOnly() {
+        Board b = midGameBoard();
+        TimedComputer timed = new TimedComputer(dict, Duration.ofSeconds(30));
+
+        timed.cancel();
+        assertTrue(timed.chooseMove(b, rackOf("ST"), false).isPass());
+        assertTrue(timed.lastReport().stopped());
+
+        assertFalse(timed.chooseMove(b, rackOf("ST"), false).isPass());
+        assertFalse(timed.lastReport().stopped());
+    }
+}
@@ -0,0 +1,42 @@
+package pij.bench;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.dict.WordList;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixturesTest {
+
+    @Test
+    void sameSeedGivesTheSameBoard() throws Exception {
+        WordList dict = WordList.fromResource("/wordlist.txt");
+
+        Board a = Fixtures.board(dict, Fixtures.Size.S15x15, Fixtures.Fill.MID, 7);
+        Board b = Fixtures.board(dict, Fixtures.Size.S15x15, Fixtures.Fill.MID, 7);
+        Board c = Fixtures.board(dict, Fixtures.Size.S15x15, Fixtures.Fill.MID, 8);
+
+        assertEquals(15, a.cols());
+        assertEquals(15, a.rows());
+        assertTrue(a.tileCount() >= 40);
+        assertEquals(a.zobrist(), b.zobrist());
+        assertNotEquals(a.zobrist(), c.zobrist());
+        assertEquals(Fixtures.boardText(26, 99, 7), Fixtures.boardText(26, 99, 7));
+    }
+
+    @Test
+    void harnessSamplesEveryIteration() throws Exception {
+        Harness harness = new Harness(Duration.ofMillis(5), Duration.ofMillis(2), 3);
+        long[] calls = new long[1];
+
+        Harness.Result r = harness.run("count", () -> ++calls[0]);
+
+        assertEquals(3, r.samples());
+        assertTrue(r.batch() >= 1);
+        assertTrue(r.mean() > 0 && r.min() <= r.mean());
+        assertTrue(calls[0] >= 3 * r.batch());
+        assertEquals(1, harness.results().size());
+    }
+}
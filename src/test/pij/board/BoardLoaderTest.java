@@ -80,6 +80,53 @@ public class BoardLoaderTest {
         assertThrows(InvalidBoardFileException.class, () -> new BoardLoader().load(new StringReader(text)));
     }
 
+    @Test
+    void parsesPackedRows() throws Exception {
+        String text = ""
+                + "7\n28\na1\n"
+                + "[-3]<12>..\t[2] .<0>\n"
+                + rows(27, 7, ".");
+        Board b = new BoardLoader().load(new StringReader(text));
+        assertEquals(CellType.LETTER_PREMIUM, b.typeAt(0, 0));
+        assertEquals(-3, b.factorAt(0, 0));
+        assertEquals(CellType.WORD_PREMIUM, b.typeAt(0, 1));
+        assertEquals(12, b.factorAt(0, 1));
+        assertEquals(CellType.NORMAL, b.typeAt(0, 3));
+        assertEquals(2, b.factorAt(0, 4));
+        assertEquals(0, b.factorAt(0, 6));
+    }
+
+    @Test
+    void loadsTheDefaultBoardResource() throws Exception {
+        Board b = new BoardLoader().loadResource("/defaultBoard.txt");
+        assertEquals(16, b.cols());
+        assertEquals(14, b.rows());
+        assertEquals(new Square(6, 3), b.startSquare());
+        assertEquals(CellType.WORD_PREMIUM, b.typeAt(0, 1));
+        assertEquals(-3, b.factorAt(0, 1));
+        assertEquals(42, b.factorAt(13, 7));
+    }
+
+    @Test
+    void reportsLineAndColumnOfBadToken() {
+        String text = ""
+                + "7\n28\na1\n"
+                + rows(1, 7, ".")
+                + "..[2]<3]...\n"
+                + rows(26, 7, ".");
+        InvalidBoardFileException e = assertThrows(InvalidBoardFileException.class,
+                () -> new BoardLoader().load(new StringReader(text)));
+        assertEquals("Line 5, column 8: expected '>'", e.getMessage());
+    }
+
+    @Test
+    void rejectsFactorsOutsideTheSpecifiedRange() {
+        for (String token : new String[] {"[-10]", "<100>", "[]", "<->", "[1"}) {
+            String text = "7\n28\na1\n" + token + "......\n" + rows(27, 7, ".");
+            assertThrows(InvalidBoardFileException.class, () -> new BoardLoader().load(new StringReader(text)), token);
+        }
+    }
+
     private static String rows(int nRows, int mCols, String token) {
         StringBuilder sb = new StringBuilder();
         String line = String.join(" ", java.util.Collections.nCopies(mCols, token)) + "\n";
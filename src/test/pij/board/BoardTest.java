@@ -0,0 +1,95 @@
+package pij.board;
+
+import org.junit.jupiter.api.Test;
+import pij.game.BoardFixtures;
+import pij.tiles.Tile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardTest {
+
+    private Board emptyBoard(int m, int n) {
+        Cell[][] cells = BoardFixtures.normalCells(m, n);
+        cells[0][1] = Cell.word(3);
+        return new Board(m, n, new Square(0, 0), cells);
+    }
+
+    @Test
+    void placedTilesAreVisibleThroughPrimitiveAccessors() {
+        Board b = emptyBoard(7, 28);
+        Tile w = Tile.wildcard();
+        w.chooseLetter('q');
+        b.placeTile(2, 3, Tile.normal('H', 4));
+        b.placeTile(2, 4, w);
+
+        assertFalse(b.isEmptyAt(2, 3));
+        assertEquals('H', b.letterAt(2, 3));
+        assertEquals(4, b.valueAt(2, 3));
+        assertEquals('Q', b.letterAt(2, 4));
+        assertTrue(b.isWildcardAt(2, 4));
+        assertEquals(8, b.valueAt(2, 4));
+        assertEquals(0, b.letterAt(0, 0));
+        assertEquals(2, b.tileCount());
+        assertEquals(0b11000L, b.rowOccupancy(2));
+        assertEquals(CellType.WORD_PREMIUM, b.typeAt(0, 1));
+        assertEquals(3, b.factorAt(0, 1));
+    }
+
+    @Test
+    void rejectsPlacingOnOccupiedSquare() {
+        Board b = emptyBoard(7, 28);
+        b.placeTile(0, 0, Tile.normal('A', 1));
+        assertThrows(IllegalStateException.class, () -> b.placeTile(0, 0, Tile.normal('B', 3)));
+    }
+
+    @Test
+    void lineQueriesFindRunsOfTiles() {
+        Board b = emptyBoard(7, 28);
+        for (int c = 2; c <= 4; c++) b.placeTile(5, c, Tile.normal('A', 1));
+
+        assertEquals(1, b.emptyBefore(Direction.RIGHT, 5, 5));
+        assertEquals(5, b.emptyAfter(Direction.RIGHT, 5, 1));
+        assertEquals(-1, b.emptyBefore(Direction.RIGHT, 5, 0));
+        assertEquals(2, b.firstOccupied(Direction.RIGHT, 5));
+        assertEquals(4, b.lastOccupied(Direction.RIGHT, 5));
+        assertTrue(b.isLineEmpty(Direction.RIGHT, 4));
+        assertFalse(b.isLineEmpty(Direction.DOWN, 3));
+        assertTrue(b.touchesAcross(4, 3, Direction.RIGHT));
+        assertFalse(b.touchesAcross(4, 3, Direction.DOWN));
+        assertTrue(b.touchesAcross(5, 5, Direction.DOWN));
+    }
+
+    @Test
+    void columnQueriesWorkPastSixtyFourRows() {
+        Board b = emptyBoard(7, 99);
+        for (int r = 62; r <= 66; r++) b.placeTile(r, 6, Tile.normal('A', 1));
+
+        assertEquals(61, b.emptyBefore(Direction.DOWN, 6, 67));
+        assertEquals(67, b.emptyAfter(Direction.DOWN, 6, 61));
+        assertEquals(62, b.firstOccupied(Direction.DOWN, 6));
+        assertEquals(66, b.lastOccupied(Direction.DOWN, 6));
+        assertEquals(99, b.emptyAfter(Direction.DOWN, 6, 98));
+    }
+
+    @Test
+    void zobristKeyFollowsTheTilesNotTheirOrder() {
+        Board a = emptyBoard(7, 7);
+        Board b = emptyBoard(7, 7);
+        Tile w = Tile.wildcard();
+        w.chooseLetter('t');
+        a.placeTile(3, 3, Tile.normal('A', 1));
+        a.placeTile(3, 4, Tile.normal('T', 1));
+        b.placeTile(3, 4, w);
+        b.placeTile(3, 3, Tile.normal('A', 1));
+        assertNotEquals(a.zobrist(), b.zobrist()); // a wildcard T is not a T
+
+        Board fork = b.fork();
+        fork.removeTile(3, 4);
+        fork.placeTile(3, 4, Tile.normal('T', 1));
+        assertEquals(a.zobrist(), fork.zobrist());
+
+        a.removeTile(3, 3);
+        a.removeTile(3, 4);
+        assertEquals(0, a.zobrist());
+    }
+}
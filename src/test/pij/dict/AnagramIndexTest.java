@@ -0,0 +1,48 @@
+package pij.dict;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnagramIndexTest {
+
+    private final WordList wl = new WordList(Set.of("AT", "TA", "CAT", "ACT", "TACT", "CATS", "ABCDEFGH"));
+
+    private static int[] counts(String letters) {
+        int[] c = new int[26];
+        for (char ch : letters.toCharArray()) c[ch - 'A']++;
+        return c;
+    }
+
+    @Test
+    void anagramsShareOneSignature() {
+        AnagramIndex index = wl.anagrams();
+        assertEquals(Set.of("CAT", "ACT"), Set.copyOf(index.anagramsOf("TCA")));
+        assertTrue(index.anagramsOf("ABCDEFGH").isEmpty()); // longer than a rack
+    }
+
+    @Test
+    void feasibleWordsUseSubsetsOfTheRack() {
+        List<String> words = wl.anagrams().feasibleWords(counts("CATX"), 0);
+        assertEquals(Set.of("AT", "TA", "CAT", "ACT"), Set.copyOf(words));
+    }
+
+    @Test
+    void wildcardLettersAreLowercase() {
+        List<String> words = wl.anagrams().feasibleWords(counts("CT"), 1);
+        assertTrue(words.contains("CaT"));
+        assertTrue(words.contains("aCT"));
+        assertTrue(words.contains("aT"));
+        assertFalse(words.contains("CATS"));
+    }
+
+    @Test
+    void repeatedRackIsServedFromCache() {
+        AnagramIndex index = wl.anagrams();
+        assertSame(index.feasibleWords(counts("TAC"), 1), index.feasibleWords(counts("CAT"), 1));
+        assertSame(index, wl.anagrams());
+    }
+}
@@ -2,6 +2,12 @@ package pij.dict;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,4 +29,83 @@ public class WordListTest {
         WordList wl = WordList.fromResource("/wordlist.txt");
         assertTrue(wl.size() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void answersPrefixAndSuccessorQueries() {
+        WordList wl = new WordList(Set.of("CAT", "CATS", "CAR", "DOG"));
+        assertTrue(wl.hasPrefix("ca"));
+        assertTrue(wl.hasPrefix("CATS"));
+        assertFalse(wl.hasPrefix("CAB"));
+        assertFalse(wl.contains("CA"));
+
+        int next = wl.successors("CA");
+        assertEquals((1 << ('R' - 'A')) | (1 << ('T' - 'A')), next);
+        assertEquals(0, wl.successors("DOG"));
+        assertEquals(0, wl.successors("X"));
+    }
+
+    @Test
+    void allWordsEnumeratesEveryWordInOrder() {
+        WordList wl = new WordList(Set.of("b", "A", "AB", "ABC", "ba", "ZZZ"));
+        List<String> words = new ArrayList<>();
+        for (String w : wl.allWords()) words.add(w);
+        assertEquals(List.of("A", "AB", "ABC", "B", "BA", "ZZZ"), words);
+        assertEquals(6, wl.size());
+    }
+
+    @Test
+    void sharedSuffixesAreMerged() {
+        // "TAPS" and "TOPS" share the suffix "PS" and end in the same node
+        Dawg d = new WordList(Set.of("TAPS", "TOPS")).dawg();
+        assertEquals(5, d.edgeCount()); // T, A|O, P, S
+        assertTrue(d.contains("TOPS"));
+        assertFalse(d.contains("TOP"));
+    }
+
+    @Test
+    void compiledImageAnswersLikeTheOriginal() throws Exception {
+        WordList original = new WordList(Set.of("CAT", "CATS", "CAR", "DOG"));
+        Path image = Files.createTempFile("words", ".dawg");
+        try {
+            DawgImage.write(original.dawg(), image);
+            WordList mapped = WordList.fromImage(image);
+            assertEquals(4, mapped.size());
+            assertTrue(mapped.contains("cats"));
+            assertFalse(mapped.contains("ca"));
+            assertEquals(original.successors("CA"), mapped.successors("CA"));
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+
+    @Test
+    void rejectsFileThatIsNotAnImage() throws Exception {
+        Path bogus = Files.createTempFile("words", ".dawg");
+        try {
+            Files.writeString(bogus, "hello\nworld\n");
+            assertThrows(java.io.IOException.class, () -> WordList.fromImage(bogus));
+        } finally {
+            Files.deleteIfExists(bogus);
+        }
+    }
+
+    @Test
+    void rejectsImageWithEdgesOutsideTheGraph() throws Exception {
+        WordList original = new WordList(Set.of("CAT", "CATS", "CAR", "DOG"));
+        Path image = Files.createTempFile("words", ".dawg");
+        try {
+            DawgImage.write(original.dawg(), image);
+            byte[] bytes = Files.readAllBytes(image);
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            int last = bytes.length - 4;
+            buf.putInt(last, (buf.getInt(last) & 0x7F) | 1000 << 7); // the last edge now leads to node 1000
+            Files.write(image, bytes);
+            assertThrows(java.io.IOException.class, () -> WordList.fromImage(image));
+
+            Files.write(image, Arrays.copyOf(bytes, bytes.length - 4)); // truncated
+            assertThrows(java.io.IOException.class, () -> WordList.fromImage(image));
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+}
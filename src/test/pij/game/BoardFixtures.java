@@ -0,0 +1,45 @@
+package pij.game;
+
+import pij.board.Board;
+import pij.board.Cell;
+import pij.board.Square;
+
+/**
+ * Boards for tests. Most tests play on a 7x28 board starting at d4; the others
+ * give their own size and start square. Tests that need premium squares change
+ * the cells of {@link #normalCells} before building the board.
+ */
+public final class BoardFixtures {
+
+    public static final int COLS = 7;
+    public static final int ROWS = 28;
+    public static final Square START = new Square(3, 3); // d4
+
+    private BoardFixtures() {}
+
+    /** Cells of a cols x rows board, indexed [row][col], all normal squares. */
+    public static Cell[][] normalCells(int cols, int rows) {
+        Cell[][] cells = new Cell[rows][cols];
+        for (int r = 0; r < rows; r++) for (int c = 0; c < cols; c++) cells[r][c] = Cell.normal();
+        return cells;
+    }
+
+    /** Cells of the 7x28 board, all normal squares. */
+    public static Cell[][] normalCells() {
+        return normalCells(COLS, ROWS);
+    }
+
+    /** The 7x28 board starting at d4 with the given cells. */
+    public static Board board(Cell[][] cells) {
+        return new Board(COLS, ROWS, START, cells);
+    }
+
+    /** The 7x28 board starting at d4, all normal squares. */
+    public static Board emptyBoard() {
+        return board(normalCells());
+    }
+
+    public static Board emptyBoard(int cols, int rows, Square start) {
+        return new Board(cols, rows, start, normalCells(cols, rows));
+    }
+}
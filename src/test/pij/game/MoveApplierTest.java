@@ -0,0 +1,107 @@
+package pij.game;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.WordList;
+import pij.move.Move;
+import pij.tiles.Rack;
+import pij.tiles.Tile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveApplierTest {
+
+    private final MoveValidator validator = new MoveValidator(new WordList(Set.of("SNOW", "NO", "ON")));
+    private final MoveApplier applier = new MoveApplier();
+
+    private Rack rack(Tile... tiles) {
+        Rack r = new Rack();
+        for (Tile t : tiles) r.add(t);
+        return r;
+    }
+
+    @Test
+    void undoRestoresBoardRackAndWildcard() {
+        Board b = BoardFixtures.emptyBoard(7, 7, new Square(0, 0));
+        Tile s = Tile.normal('S', 1);
+        Tile wild = Tile.wildcard();
+        Tile o = Tile.normal('O', 1);
+        Tile x = Tile.normal('X', 5);
+        Tile w = Tile.normal('W', 4);
+        Rack r = rack(s, x, wild, o, w);
+
+        ValidationResult result = new ValidationResult();
+        assertEquals(ValidationResult.OK,
+                validator.check(b, r, Move.play("SnOW", new Square(0, 0), Direction.RIGHT), true, result));
+        MoveApplier.Undo undo = applier.apply(b, r, result);
+
+        assertEquals(4, b.tileCount());
+        assertSame(wild, b.tileAt(0, 1));
+        assertEquals('N', b.letterAt(0, 1));
+        assertEquals(List.of(x), r.tilesView());
+
+        applier.undo(undo);
+
+        assertTrue(b.isEmpty());
+        assertEquals(0, b.letterAt(0, 1));
+        assertEquals(List.of(s, x, wild, o, w), r.tilesView());
+        assertTrue(wild.chosenLetter().isEmpty());
+    }
+
+    @Test
+    void undoOfValidatedMovePutsTilesBackInPlace() throws Exception {
+        Board b = BoardFixtures.emptyBoard(7, 7, new Square(0, 0));
+        Tile n = Tile.normal('N', 2);
+        Tile a = Tile.normal('A', 1);
+        Tile o = Tile.normal('O', 1);
+        Rack r = rack(n, a, o);
+
+        ValidatedMove vm = validator.validate(b, r, Move.play("NO", new Square(0, 0), Direction.DOWN), true);
+        MoveApplier.Undo undo = applier.apply(b, r, vm);
+        assertEquals(List.of(a), r.tilesView());
+
+        applier.undo(undo);
+        assertTrue(b.isEmpty());
+        assertEquals(List.of(n, a, o), r.tilesView());
+    }
+
+    @Test
+    void undoMustFollowStackOrder() throws Exception {
+        Board b = BoardFixtures.emptyBoard(7, 7, new Square(0, 0));
+        Rack r = rack(Tile.normal('N', 2), Tile.normal('O', 1), Tile.normal('N', 2));
+
+        MoveApplier.Undo first = applier.apply(b, r,
+                validator.validate(b, r, Move.play("NO", new Square(0, 0), Direction.DOWN), true));
+        MoveApplier.Undo second = applier.apply(b, r,
+                validator.validate(b, r, Move.play("oN", new Square(1, 0), Direction.RIGHT), false));
+
+        assertThrows(IllegalStateException.class, () -> applier.undo(first));
+        applier.undo(second);
+        applier.undo(first);
+        assertTrue(b.isEmpty());
+        assertEquals(3, r.size());
+        assertThrows(IllegalStateException.class, () -> applier.undo(first));
+    }
+
+    @Test
+    void forkIsIndependentOfTheOriginal() {
+        Board b = BoardFixtures.emptyBoard(7, 7, new Square(0, 0));
+        b.placeTile(3, 3, Tile.normal('A', 1));
+
+        Board copy = b.fork();
+        copy.placeTile(3, 4, Tile.normal('T', 1));
+        copy.removeTile(3, 3);
+
+        assertEquals('A', b.letterAt(3, 3));
+        assertTrue(b.isEmptyAt(3, 4));
+        assertEquals(1, b.tileCount());
+        assertEquals('T', copy.letterAt(3, 4));
+        assertTrue(copy.isEmptyAt(3, 3));
+        assertSame(b.cellAt(0, 0), copy.cellAt(0, 0));
+    }
+}
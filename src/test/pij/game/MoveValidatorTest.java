@@ -3,11 +3,15 @@ package pij.game;
 import org.junit.jupiter.api.Test;
 import pij.board.Board;
 import pij.board.Cell;
+import pij.board.Direction;
 import pij.board.Square;
+import pij.dict.WordList;
 import pij.move.Move;
 import pij.tiles.Rack;
 import pij.tiles.Tile;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MoveValidatorTest {
@@ -70,4 +74,58 @@ public class MoveValidatorTest {
         r.add(Tile.normal('I', 1));
         Move m = Move.play("HI", new Square(0,1), pij.board.Direction.RIGHT); // start at last col, can't fit 2
     }
+
+    private final MoveValidator validator = new MoveValidator(new WordList(Set.of("HI", "SNOW")));
+
+    @Test
+    void checkReportsCodesWithoutThrowing() {
+        Board b = emptyBoard(7, 28, new Square(0,0));
+        Rack r = new Rack();
+        r.add(Tile.normal('H', 4));
+        ValidationResult result = new ValidationResult();
+
+        assertEquals(ValidationResult.TOO_SHORT,
+                validator.check(b, r, Move.play("H", new Square(0, 0), Direction.DOWN), true, result));
+        assertEquals(ValidationResult.MISSING_TILE,
+                validator.check(b, r, Move.play("HI", new Square(0, 0), Direction.DOWN), true, result));
+        assertEquals("Missing tile: I", result.message());
+        r.add(Tile.normal('I', 1));
+        assertEquals(ValidationResult.MISSES_START,
+                validator.check(b, r, Move.play("HI", new Square(1, 0), Direction.DOWN), true, result));
+        assertEquals(ValidationResult.OFF_BOARD,
+                validator.check(b, r, Move.play("HI", new Square(0, 6), Direction.RIGHT), true, result));
+    }
+
+    @Test
+    void checkFillsReusableResultAndLeavesRackAlone() {
+        Board b = emptyBoard(7, 28, new Square(0,0));
+        Rack r = new Rack();
+        r.add(Tile.normal('S', 1));
+        r.add(Tile.wildcard());
+        r.add(Tile.normal('O', 1));
+        r.add(Tile.normal('W', 4));
+        ValidationResult result = new ValidationResult();
+
+        assertEquals(ValidationResult.OK,
+                validator.check(b, r, Move.play("SnOW", new Square(0, 0), Direction.RIGHT), true, result));
+        assertEquals("SNOW", result.mainWord());
+        assertEquals(4, result.placementCount());
+        assertTrue(result.placementIsWildcard(1));
+        assertEquals(8, result.placementValue(1));
+        assertEquals(4, r.size());
+        assertFalse(r.tilesView().get(1).chosenLetter().isPresent());
+    }
+
+    @Test
+    void validateThrowsWithTheCheckMessage() {
+        Board b = emptyBoard(7, 28, new Square(0,0));
+        b.placeTile(1, 1, Tile.normal('X', 9));
+        Rack r = new Rack();
+        r.add(Tile.normal('H', 4));
+        r.add(Tile.normal('I', 1));
+
+        IllegalMoveException e = assertThrows(IllegalMoveException.class,
+                () -> validator.validate(b, r, Move.play("HI", new Square(0, 0), Direction.RIGHT), false));
+        assertEquals("Move creates additional word(s)", e.getMessage());
+    }
 }
@@ -0,0 +1,119 @@
+package pij.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import pij.ai.GreedyComputer;
+import pij.board.Direction;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.MoveValidator;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.tiles.Rack;
+import pij.tiles.TileBag;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    private final WordList dict = new WordList(Set.of(
+            "AT", "TA", "AN", "NA", "IN", "IT", "TI", "ON", "NO", "TO", "RE", "ER", "EN", "NE",
+            "TEA", "EAT", "ATE", "TEN", "NET", "ONE", "TON", "NOT", "RAT", "TAR", "ART", "RATE", "TEAR"));
+
+    private GameSession session(long seed) {
+        return new GameSession(BoardFixtures.emptyBoard(), dict,
+                new TileBag(TileBag.defaultTiles(), new Random(seed)),
+                new PlayerState("Player 1"), new GreedyComputer(dict),
+                new PlayerState("Player 2"), new GreedyComputer(dict));
+    }
+
+    @Test
+    void gameIsCountedOnlyWhileEnabled() {
+        Metrics.reset();
+        session(7).playToEnd();
+        assertEquals(0, Metrics.counter("movegen.calls").sum());
+        assertEquals("", Metrics.summary());
+
+        Metrics.setEnabled(true);
+        try {
+            GameSession s = session(7);
+            s.playToEnd();
+
+            long turns = Metrics.histogram("turn.GreedyComputer").count();
+            assertEquals(s.turns(), turns);
+            assertTrue(Metrics.counter("movegen.calls").sum() >= turns);
+            assertTrue(Metrics.counter("movegen.candidates").sum() > 0);
+            assertTrue(Metrics.counter("validate.accepted").sum() > 0);
+            assertTrue(Metrics.counter("bag.tiles").sum() >= 14);
+            assertTrue(Metrics.histogram("score.move").count() > 0);
+            assertTrue(Metrics.summary().contains("turn.GreedyComputer"));
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    void rejectionsAreCountedUnderTheirReason() {
+        Metrics.reset();
+        Metrics.setEnabled(true);
+        try {
+            MoveValidator validator = new MoveValidator(dict);
+            ValidationResult out = new ValidationResult();
+            int code = validator.check(BoardFixtures.emptyBoard(), new Rack(),
+                    Move.play("A", BoardFixtures.START, Direction.RIGHT), true, out);
+            assertEquals(ValidationResult.TOO_SHORT, code);
+            assertEquals(1, Metrics.counter("validate.rejected.too_short").sum());
+            assertEquals(0, Metrics.counter("validate.accepted").sum());
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    void turnsAreRecordedAsFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("turns", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("pij.Turn");
+            recording.enable("pij.MoveGeneration");
+            recording.start();
+            GameSession s = session(7);
+            s.playToEnd();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            long turns = events.stream().filter(e -> e.getEventType().getName().equals("pij.Turn")).count();
+            assertEquals(s.turns(), turns);
+            RecordedEvent gen = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("pij.MoveGeneration"))
+                    .findFirst().orElseThrow();
+            assertTrue(gen.getInt("candidates") >= 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void histogramPercentilesAreWithinABucket() {
+        Histogram h = new Histogram();
+        for (int i = 1; i <= 1000; i++) h.record(i * 1000L);
+
+        assertEquals(1000, h.count());
+        assertEquals(1_000_000, h.max());
+        long p50 = h.percentile(0.5);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 " + p50);
+        assertEquals(1_000_000, h.percentile(1.0));
+    }
+}
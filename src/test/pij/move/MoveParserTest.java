@@ -32,6 +32,13 @@ public class MoveParserTest {
         assertEquals(new Square(9, 1), m.start()); // 10b -> row=9,col=1
     }
 
+    @Test
+    void formatIsTheInverseOfParse() throws Exception {
+        for (String text : new String[] {",", "HI,f8", "SnOW,10b"}) {
+            assertEquals(text, parser.format(parser.parse(text, 26, 99)));
+        }
+    }
+
     @Test
     void trimsSpaces() throws Exception {
         Move m = parser.parse("  Snow  ,   10b ", 26, 99);
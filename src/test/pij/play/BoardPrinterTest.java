@@ -0,0 +1,68 @@
+package pij.play;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.board.Square;
+import pij.game.BoardFixtures;
+import pij.tiles.Tile;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardPrinterTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private Board board() {
+        Cell[][] cells = BoardFixtures.normalCells(7, 12);
+        cells[0][6] = Cell.word(3);
+        cells[10][1] = Cell.letter(2);
+        return new Board(7, 12, new Square(3, 3), cells);
+    }
+
+    @Test
+    void fullFrameShowsHeaderLabelsPremiumsAndTiles() {
+        Board b = board();
+        Tile wild = Tile.wildcard();
+        wild.chooseLetter('x');
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(3, 4, wild);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new BoardPrinter(out, false).print(b);
+
+        String[] lines = out.toString().split(NL, -1);
+        assertEquals(14, lines.length); // header, 12 rows, empty string after the last newline
+        assertEquals("   a b c d e f g ", lines[0]);
+        assertEquals(" 1 . . . . . . W ", lines[1]);
+        assertEquals(" 4 . . . H X . . ", lines[4]);
+        assertEquals("11 . L . . . . . ", lines[11]);
+        assertEquals("", lines[13]);
+    }
+
+    @Test
+    void incrementalModePrintsOnlyChangedRows() {
+        Board b = board();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BoardPrinter printer = new BoardPrinter(out, true);
+
+        printer.render(b);
+        int full = out.size();
+        assertTrue(full > 0);
+
+        out.reset();
+        printer.render(b);
+        assertEquals(0, out.size()); // nothing changed, e.g. after a pass
+
+        b.placeTile(3, 3, Tile.normal('H', 4));
+        b.placeTile(4, 3, Tile.normal('I', 1));
+        printer.render(b);
+        assertEquals(" 4 . . . H . . . " + NL + " 5 . . . I . . . " + NL, out.toString());
+
+        out.reset();
+        new BoardPrinter(out, false).render(b);
+        assertEquals(full, out.size()); // the full mode always redraws
+    }
+}
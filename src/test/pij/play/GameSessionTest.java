@@ -0,0 +1,135 @@
+package pij.play;
+
+import org.junit.jupiter.api.Test;
+import pij.ai.GreedyComputer;
+import pij.board.Direction;
+import pij.board.Square;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.game.IllegalMoveException;
+import pij.game.ValidatedMove;
+import pij.move.Move;
+import pij.score.ScoreBreakdown;
+import pij.tiles.TileBag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionTest {
+
+    private final WordList dict = new WordList(Set.of(
+            "AT", "TA", "AN", "NA", "IN", "IT", "TI", "ON", "NO", "TO", "RE", "ER", "EN", "NE",
+            "TEA", "EAT", "ATE", "TEN", "NET", "ONE", "TON", "NOT", "RAT", "TAR", "ART", "RATE", "TEAR"));
+
+    private GameSession session(long seed) {
+        return new GameSession(BoardFixtures.emptyBoard(), dict, new TileBag(TileBag.defaultTiles(), new Random(seed)),
+                new PlayerState("Player 1"), new GreedyComputer(dict),
+                new PlayerState("Player 2"), new GreedyComputer(dict));
+    }
+
+    /** Counts events and adds up the points of each player's moves. */
+    private static final class Tally implements GameListener {
+        int started, chosen, played, passed, rejected, ended;
+        final int[] points = new int[2];
+
+        @Override public void turnStarted(GameSession s, PlayerState p) { started++; }
+        @Override public void moveChosen(GameSession s, PlayerState p, Move m) { chosen++; }
+        @Override public void movePlayed(GameSession s, PlayerState p, Move m, ValidatedMove v, ScoreBreakdown score) {
+            played++;
+            points[p == s.player(0) ? 0 : 1] += score.total();
+        }
+        @Override public void passed(GameSession s, PlayerState p) { passed++; }
+        @Override public void moveRejected(GameSession s, PlayerState p, Move m, String reason) { rejected++; }
+        @Override public void gameEnded(GameSession s) { ended++; }
+    }
+
+    @Test
+    void computersPlayToTheEndAndEveryTurnIsReported() {
+        GameSession s = session(7);
+        Tally tally = new Tally();
+        s.addListener(tally);
+
+        s.playToEnd();
+
+        assertTrue(s.isOver());
+        assertTrue(tally.played > 0);
+        assertEquals(s.turns(), tally.started);
+        assertEquals(s.turns(), tally.chosen);
+        assertEquals(s.turns(), tally.played + tally.passed);
+        assertEquals(1, tally.ended);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(tally.points[i] - s.penalty(i), s.player(i).score());
+            assertEquals(s.player(i).rack().totalValue(), s.penalty(i));
+        }
+        assertThrows(IllegalStateException.class, s::nextTurn);
+    }
+
+    @Test
+    void fourPassesEndTheGameWithRackPenalties() throws Exception {
+        GameSession s = session(1);
+        int rack1 = s.player(0).rack().totalValue();
+        int rack2 = s.player(1).rack().totalValue();
+
+        for (int i = 0; i < 3; i++) s.submit(Move.pass());
+        assertFalse(s.isOver());
+        assertEquals(1, s.currentIndex());
+        s.submit(Move.pass());
+
+        assertTrue(s.isOver());
+        assertEquals(-rack1, s.player(0).score());
+        assertEquals(-rack2, s.player(1).score());
+    }
+
+    @Test
+    void illegalMoveLeavesTheTurnUnchanged() {
+        GameSession s = session(3);
+        Tally tally = new Tally();
+        s.addListener(tally);
+
+        assertThrows(IllegalMoveException.class,
+                () -> s.submit(Move.play("ZZZ", new Square(3, 3), Direction.RIGHT)));
+
+        assertEquals(0, s.currentIndex());
+        assertEquals(0, s.turns());
+        assertTrue(s.isFirstMove());
+        assertTrue(s.board().isEmpty());
+        assertEquals(7, s.player(0).rack().size());
+        assertEquals(1, tally.started);
+        s.startTurn(); // the same player chooses again, so the turn is shown again
+        assertEquals(2, tally.started);
+    }
+
+    @Test
+    void illegalComputerMoveCountsAsAPassWithoutAPassEvent() {
+        Move illegal = Move.play("ZZZ", new Square(3, 3), Direction.RIGHT);
+        GameSession s = new GameSession(BoardFixtures.emptyBoard(), dict, new TileBag(TileBag.defaultTiles(), new Random(3)),
+                new PlayerState("Player 1"), (board, rack, first) -> illegal,
+                new PlayerState("Player 2"), new GreedyComputer(dict));
+        Tally tally = new Tally();
+        s.addListener(tally);
+        PrintStream console = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        s.addListener(new ConsoleGameListener(false, BoardRenderer.none()));
+        try {
+            System.setOut(new PrintStream(printed, true, StandardCharsets.UTF_8));
+            s.nextTurn();
+        } finally {
+            System.setOut(console);
+        }
+
+        assertEquals(1, s.consecutivePasses());
+        assertEquals(1, s.currentIndex());
+        assertEquals(1, tally.chosen);
+        assertEquals(1, tally.rejected);
+        assertEquals(0, tally.passed);
+        String out = printed.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains("Player 1 chooses: ZZZ,d4 (RIGHT)"), out);
+        assertTrue(out.contains("Illegal move" + System.lineSeparator() + "Player 1 falls back to pass."), out);
+        assertFalse(out.contains("passes."), out);
+    }
+}
@@ -0,0 +1,99 @@
+package pij.record;
+
+import org.junit.jupiter.api.Test;
+import pij.ai.GreedyComputer;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.play.GameSession;
+import pij.play.PlayerState;
+import pij.tiles.TileBag;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRecordTest {
+
+    private final WordList dict = new WordList(Set.of(
+            "AT", "TA", "AN", "NA", "IN", "IT", "TI", "ON", "NO", "TO", "RE", "ER", "EN", "NE",
+            "TEA", "EAT", "ATE", "TEN", "NET", "ONE", "TON", "NOT", "RAT", "TAR", "ART", "RATE", "TEAR"));
+
+    private Board emptyBoard() {
+        Cell[][] cells = BoardFixtures.normalCells();
+        cells[3][4] = Cell.word(2);
+        cells[4][3] = Cell.letter(-2);
+        return BoardFixtures.board(cells);
+    }
+
+    /** Plays a greedy game with a recorder attached; returns the session and the record. */
+    private Object[] recordedGame(long seed) throws IOException {
+        GameSession s = new GameSession(emptyBoard(), dict, new TileBag(TileBag.defaultTiles(), new Random(seed)),
+                new PlayerState("Player 1"), new GreedyComputer(dict), new PlayerState("Player 2"), new GreedyComputer(dict));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        s.addListener(new GameRecordWriter(bytes, seed, "test", s.board()));
+        s.playToEnd();
+        return new Object[] {s, bytes.toByteArray()};
+    }
+
+    @Test
+    void replayRebuildsTheBoardAndScores() throws Exception {
+        Object[] game = recordedGame(5);
+        GameSession s = (GameSession) game[0];
+        GameRecordReader in = new GameRecordReader(new ByteArrayInputStream((byte[]) game[1]));
+        assertEquals(5, in.seed());
+        assertEquals("test", in.boardRef());
+
+        Board board = emptyBoard();
+        GameReplayer.Replay r = new GameReplayer().replay(in, board);
+
+        assertTrue(r.ended());
+        assertEquals(s.turns(), r.moves() + r.passes());
+        assertEquals(s.player(0).score(), r.score1());
+        assertEquals(s.player(1).score(), r.score2());
+        assertEquals(s.player(0).score(), in.finalScore(0));
+        assertEquals(s.board().zobrist(), board.zobrist());
+        assertEquals(s.board().tileCount(), board.tileCount());
+        assertTrue(board.tileCount() > 0);
+    }
+
+    @Test
+    void textFormHasOneLinePerEvent() throws Exception {
+        Object[] game = recordedGame(5);
+        GameSession s = (GameSession) game[0];
+        StringBuilder text = new StringBuilder();
+        GameRecordText.print(new GameRecordReader(new ByteArrayInputStream((byte[]) game[1])), text);
+
+        String[] lines = text.toString().split("\n");
+        assertEquals("# seed 5 board test 7x28", lines[0]);
+        assertEquals(s.turns() + 2, lines.length);
+        assertTrue(lines[1].startsWith("move 0 ") || lines[1].equals("pass 0"), lines[1]);
+        assertTrue(text.indexOf("\nmove 1 ") > 0);
+        assertEquals("end penalties " + s.penalty(0) + " " + s.penalty(1)
+                + " scores " + s.player(0).score() + " " + s.player(1).score(), lines[lines.length - 1]);
+    }
+
+    @Test
+    void truncatedOrForeignRecordsAreRejected() throws Exception {
+        byte[] record = (byte[]) recordedGame(7)[1];
+        GameRecordReader cut = new GameRecordReader(new ByteArrayInputStream(Arrays.copyOf(record, record.length - 1)));
+        assertThrows(EOFException.class, () -> new GameReplayer().replay(cut, emptyBoard()));
+
+        // a 0 byte where an event should start is corruption, not the end of the record
+        byte[] zeroTag = Arrays.copyOf(record, record.length + 1);
+        GameRecordReader padded = new GameRecordReader(new ByteArrayInputStream(zeroTag));
+        IOException e = assertThrows(IOException.class, () -> new GameReplayer().replay(padded, emptyBoard()));
+        assertEquals("corrupt record: unknown event 0", e.getMessage());
+
+        byte[] foreign = record.clone();
+        foreign[0] = 'X';
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(foreign)));
+    }
+}
@@ -4,12 +4,19 @@ import org.junit.jupiter.api.Test;
 import pij.board.Board;
 import pij.board.Cell;
 import pij.board.Square;
+import pij.board.Direction;
+import pij.dict.WordList;
 import pij.game.MoveApplier;
+import pij.game.MoveValidator;
 import pij.game.Placement;
 import pij.game.ValidatedMove;
+import pij.game.ValidationResult;
+import pij.move.Move;
+import pij.tiles.Rack;
 import pij.tiles.Tile;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -123,4 +130,49 @@ public class ScorerTest {
         assertEquals(sb.baseBeforeWordMultiplier() * sb.wordMultiplier() + 60, sb.total());
         assertEquals(60, sb.bingoBonus());
     }
+
+    @Test
+    void scoreBeforeApplyMatchesScoreAfterApply() throws Exception {
+        Cell[][] cells = new Cell[28][7];
+        for (int r = 0; r < 28; r++) for (int c = 0; c < 7; c++) cells[r][c] = Cell.normal();
+        cells[3][1] = Cell.letter(3);
+        cells[3][4] = Cell.word(2);
+        cells[3][2] = Cell.word(5); // under an existing tile: ignored
+        Board b = new Board(7, 28, new Square(3, 2), cells);
+        b.placeTile(3, 2, Tile.normal('N', 2));
+        b.placeTile(3, 3, Tile.normal('O', 1));
+
+        Rack rack = new Rack();
+        rack.add(Tile.normal('S', 1));
+        rack.add(Tile.wildcard());
+        MoveValidator validator = new MoveValidator(new WordList(Set.of("SNOW")));
+        Move move = Move.play("SNOw", new Square(3, 1), Direction.RIGHT);
+
+        ValidationResult checked = new ValidationResult();
+        assertEquals(ValidationResult.OK, validator.check(b, rack, move, false, checked));
+        Scorer scorer = new Scorer();
+        ScoreBreakdown before = scorer.scoreBeforeApply(b, checked);
+        assertEquals(before.total(), scorer.totalBeforeApply(b, checked));
+        assertTrue(b.isEmptyAt(3, 1)); // board untouched
+
+        ValidatedMove vm = validator.validate(b, rack, move, false);
+        new MoveApplier().apply(b, rack, vm);
+        assertEquals(scorer.scoreMove(b, vm), before);
+        // S: 1*3, N: 2, O: 1, w: 8 => 14, doubled
+        assertEquals(28, before.total());
+    }
+
+    @Test
+    void singleTileDownwardMoveScoresTheColumnWord() throws Exception {
+        Board b = boardWithAllNormal(7, 28, new Square(0, 6));
+        b.placeTile(26, 6, Tile.normal('N', 2));
+        b.placeTile(27, 6, Tile.normal('O', 1));
+        Rack rack = new Rack();
+        rack.add(Tile.normal('O', 1));
+
+        MoveValidator validator = new MoveValidator(new WordList(Set.of("ONO")));
+        ValidatedMove vm = validator.validate(b, rack, Move.play("ONO", new Square(25, 6), Direction.DOWN), false);
+        new MoveApplier().apply(b, rack, vm);
+        assertEquals(4, new Scorer().scoreMove(b, vm).total());
+    }
 }
@@ -0,0 +1,113 @@
+package pij.server;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    private final WordList dict = new WordList(Set.of(
+            "AT", "TA", "AN", "NA", "IN", "IT", "TI", "ON", "NO", "TO", "RE", "ER", "EN", "NE",
+            "TEA", "EAT", "ATE", "TEN", "NET", "ONE", "TON", "NOT", "RAT", "TAR", "ART", "RATE", "TEAR"));
+
+    private static void send(Socket s, String line) throws Exception {
+        OutputStream out = s.getOutputStream();
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static BufferedReader reader(Socket s) throws Exception {
+        return new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void loadGeneratorPlaysWholeGames() throws Exception {
+        Board template = BoardFixtures.emptyBoard();
+        try (GameServer server = new GameServer(dict, Map.of("small", template), 8, 256, 1 << 20)) {
+            server.start(0);
+            LoadGenerator.Report r = new LoadGenerator(dict, template).run(server.port(), 3, 2);
+
+            assertEquals(6, r.games());
+            assertEquals(0, r.rejected());
+            assertEquals(r.moves(), r.moveLatency().count());
+            assertTrue(r.moves() > 0);
+        }
+    }
+
+    @Test
+    void listsTheBoardsInOrderAndDefaultsToTheFirst() throws Exception {
+        Map<String, Board> templates = new LinkedHashMap<>();
+        for (String name : new String[] {"wide", "small", "tall", "big"}) templates.put(name, BoardFixtures.emptyBoard());
+        try (GameServer server = new GameServer(dict, templates, 1, 256, 1 << 20)) {
+            assertEquals("wide", server.defaultBoard());
+            server.start(0);
+            try (Socket s = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+                assertEquals("HELLO SCRAEBBKLE 1 wide,small,tall,big", reader(s).readLine());
+            }
+        }
+    }
+
+    @Test
+    void refusesConnectionsBeyondTheSessionLimit() throws Exception {
+        try (GameServer server = new GameServer(dict, Map.of("small", BoardFixtures.emptyBoard()), 1, 256, 1 << 20)) {
+            server.start(0);
+            try (Socket first = new Socket(InetAddress.getLoopbackAddress(), server.port());
+                 Socket second = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+                assertTrue(reader(first).readLine().startsWith("HELLO SCRAEBBKLE 1 small"));
+                assertEquals("ERR busy", reader(second).readLine());
+                assertEquals(1, server.activeSessions());
+            }
+        }
+    }
+
+    @Test
+    void reportsBadInputAndEnforcesLimits() throws Exception {
+        Board template = BoardFixtures.emptyBoard();
+        long tooSmall = GameServer.estimatedGameBytes(template) - 1;
+        try (GameServer tight = new GameServer(dict, Map.of("small", template), 4, 32, tooSmall)) {
+            tight.start(0);
+            try (Socket s = new Socket(InetAddress.getLoopbackAddress(), tight.port())) {
+                BufferedReader in = reader(s);
+                in.readLine();
+                send(s, "NEW small");
+                assertEquals("ERR board too large for this server", in.readLine());
+                send(s, "NEW other");
+                assertEquals("ERR unknown board other", in.readLine());
+                send(s, "X".repeat(40));
+                assertEquals("ERR line too long", in.readLine());
+                assertNull(in.readLine());
+            }
+        }
+        try (GameServer server = new GameServer(dict, Map.of("small", template), 4, 32, 1 << 20)) {
+            server.start(0);
+            try (Socket s = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+                BufferedReader in = reader(s);
+                in.readLine();
+                send(s, "NEW");
+                assertEquals("GAME 7 28 d4", in.readLine());
+                assertEquals("STATE 0 0 86", in.readLine());
+                assertEquals("BOARD " + ".".repeat(7 * 28), in.readLine());
+                assertTrue(in.readLine().startsWith("RACK "));
+                assertEquals("TURN", in.readLine());
+                send(s, "not a move");
+                assertEquals("ERR Illegal move format", in.readLine());
+                assertEquals("TURN", in.readLine());
+                send(s, "QUIT");
+                assertEquals("BYE", in.readLine());
+            }
+        }
+    }
+}
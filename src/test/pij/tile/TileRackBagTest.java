@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,6 +55,56 @@ public class TileRackBagTest {
         assertFalse(r.takeWildcard().isPresent());
     }
 
+    @Test
+    void rackZobristKeyDependsOnlyOnTheMultiset() {
+        Rack r = new Rack();
+        r.add(Tile.normal('A', 1));
+        r.add(Tile.wildcard());
+        r.add(Tile.normal('A', 1));
+        Rack s = new Rack();
+        s.add(Tile.wildcard());
+        s.add(Tile.normal('A', 1));
+        s.add(Tile.normal('A', 1));
+        assertEquals(r.zobrist(), s.zobrist());
+        assertEquals(r.zobrist(), r.copy().zobrist());
+
+        Rack empty = new Rack();
+        long full = r.zobrist();
+        r.takeLetter('A');
+        assertNotEquals(full, r.zobrist());
+        r.takeWildcard();
+        r.takeLetter('A');
+        assertEquals(empty.zobrist(), r.zobrist());
+        r.insert(0, Tile.normal('A', 1));
+        assertNotEquals(s.zobrist(), r.zobrist());
+    }
+
+    @Test
+    void rackCountsFollowEveryChange() {
+        Rack r = new Rack();
+        r.add(Tile.normal('E', 1));
+        r.add(Tile.normal('T', 1));
+        r.add(Tile.normal('E', 1));
+        r.add(Tile.wildcard());
+        assertEquals(2, r.count('E'));
+        assertEquals(2, r.count('e'));
+        assertEquals(0, r.count('Q'));
+        assertEquals(0, r.count('_'));
+        assertEquals(1, r.wildcards());
+
+        Tile t = r.removeAt(1);
+        assertEquals(0, r.count('T'));
+        assertTrue(r.takeLetter('T').isEmpty());
+        r.insert(1, t);
+        int[] counts = new int[27];
+        r.copyCounts(counts);
+        assertEquals(2, counts['E' - 'A']);
+        assertEquals(1, counts['T' - 'A']);
+        assertEquals(1, counts[Rack.WILDCARD]);
+        assertEquals(11, r.totalValue());
+        assertEquals(11, r.copy().totalValue());
+    }
+
     @Test
     void rackTotalValueSumsFaceValues() {
         Rack r = new Rack();
@@ -84,4 +135,64 @@ public class TileRackBagTest {
         assertEquals(3, r.size());
         assertTrue(bag.isEmpty());
     }
+
+    @Test
+    void bagWithoutARandomDrawsFromAFreshOne() {
+        TileBag bag = new TileBag(TileBag.defaultTiles(), (SplittableRandom) null);
+        assertEquals(7, bag.draw(7).size());
+
+        int[] counts = new int[27];
+        counts[0] = 2;
+        TileBag counted = new TileBag(counts, new int[27], null);
+        assertEquals(2, counted.draw(7).size());
+        assertTrue(counted.isEmpty());
+    }
+
+    @Test
+    void bagWithTheSameSeedDrawsTheSameTiles() {
+        TileBag a = new TileBag(TileBag.defaultTiles(), new Random(42));
+        TileBag b = new TileBag(TileBag.defaultTiles(), new Random(42));
+        while (!a.isEmpty()) assertEquals(letters(a.draw(7)), letters(b.draw(7)));
+        assertTrue(b.isEmpty());
+    }
+
+    @Test
+    void bagCopyIsIndependentAndKeepsCounts() {
+        TileBag bag = new TileBag(TileBag.defaultTiles(), new SplittableRandom(1));
+        assertTrue(bag.remove('Q' - 'A'));
+        assertFalse(bag.remove('Q' - 'A'));
+        TileBag copy = bag.copy(new SplittableRandom(2));
+        assertEquals(bag.size(), copy.size());
+
+        int[] drawn = new int[27];
+        for (int k; (k = copy.drawIndex()) >= 0; ) drawn[k]++;
+        assertEquals(-1, copy.drawIndex());
+        int[] left = new int[27];
+        bag.copyCounts(left);
+        assertArrayEquals(left, drawn);
+        assertEquals(99, bag.size());
+        assertEquals(2, bag.count(TileBag.WILDCARD));
+    }
+
+    @Test
+    void bagDrawsNewTilesEveryTime() {
+        List<Tile> tiles = List.of(Tile.wildcard(), Tile.normal('Z', 10));
+        TileBag a = new TileBag(tiles, new SplittableRandom(0));
+        TileBag b = new TileBag(tiles, new SplittableRandom(0));
+        List<Tile> fromA = a.draw(2);
+        List<Tile> fromB = b.draw(2);
+        for (Tile t : fromA) {
+            assertTrue(tiles.stream().noneMatch(x -> x == t));
+            assertTrue(fromB.stream().noneMatch(x -> x == t));
+            if (t.isWildcard()) t.chooseLetter('q');
+            else assertEquals(10, t.value());
+        }
+        assertTrue(fromB.stream().filter(Tile::isWildcard).allMatch(t -> t.displayChar() == '_'));
+    }
+
+    private static String letters(List<Tile> tiles) {
+        StringBuilder sb = new StringBuilder();
+        for (Tile t : tiles) sb.append(t.letter());
+        return sb.toString();
+    }
 }
@@ -0,0 +1,59 @@
+package pij.tournament;
+
+import org.junit.jupiter.api.Test;
+import pij.board.Board;
+import pij.board.Cell;
+import pij.dict.WordList;
+import pij.game.BoardFixtures;
+import pij.tiles.TileBag;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    private final WordList dict = new WordList(Set.of(
+            "AT", "TA", "AN", "NA", "IN", "IT", "TI", "ON", "NO", "TO", "RE", "ER", "EN", "NE",
+            "TEA", "EAT", "ATE", "TEN", "NET", "ONE", "TON", "NOT", "RAT", "TAR", "ART", "RATE", "TEAR"));
+
+    private Board emptyBoard() {
+        Cell[][] cells = BoardFixtures.normalCells();
+        cells[3][4] = Cell.word(2);
+        return BoardFixtures.board(cells);
+    }
+
+    @Test
+    void resultsDependOnTheSeedNotOnParallelism() throws Exception {
+        List<Entrant> entrants = List.of(Tournament.entrant("simple"), Tournament.entrant("greedy"));
+        Board template = emptyBoard();
+
+        PairStats serial = new Tournament(dict, template, TileBag.defaultTiles(), 1).roundRobin(entrants, 6, 42).get(0);
+        PairStats parallel = new Tournament(dict, template, TileBag.defaultTiles(), 4).roundRobin(entrants, 6, 42).get(0);
+
+        assertEquals(6, serial.games());
+        assertEquals(serial.winsA(), parallel.winsA());
+        assertEquals(serial.draws(), parallel.draws());
+        assertEquals(serial.meanScoreA(), parallel.meanScoreA());
+        assertEquals(serial.scoreVarianceB(), parallel.scoreVarianceB());
+        assertEquals(serial.meanTurns(), parallel.meanTurns());
+        assertTrue(serial.latencyA().count() > 0);
+        assertTrue(template.isEmpty());
+    }
+
+    @Test
+    void histogramPercentilesAreWithinOneBucket() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 1000; v++) h.record(v * 1000L);
+
+        assertEquals(1000, h.count());
+        assertEquals(1_000_000, h.max());
+        assertEquals(500_500, h.mean(), 1e-9);
+        long p50 = h.percentile(0.5);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 " + p50);
+        long p99 = h.percentile(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        assertEquals(1_000_000, h.percentile(1));
+    }
+}